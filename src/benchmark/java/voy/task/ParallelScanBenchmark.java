@@ -0,0 +1,42 @@
+package voy.task;
+
+/**
+ * Compares sequential and parallel scans of {@link TaskList#filter(String)} across list sizes,
+ * to locate the size from which the parallel scan pays off on the current machine.
+ * <p>
+ * Run with {@code gradlew benchmark}; kept in its own source set, apart from the unit tests.
+ */
+public class ParallelScanBenchmark {
+    private static final int[] SIZES = { 1_000, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 1_000_000 };
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+    /** Contains punctuation, so no index applies and filter falls back to a scan. */
+    private static final String KEYWORD = "k-7";
+
+    public static void main(String[] args) {
+        System.out.println("cpus=" + Runtime.getRuntime().availableProcessors());
+        System.out.println("tasks\tsequential(us)\tparallel(us)");
+        for (int size : SIZES) {
+            TaskList list = new TaskList();
+            for (int i = 0; i < size; i++) {
+                list.add(new ToDo("Weekly task-" + i + " review the project backlog"));
+            }
+            list.setParallelScanThreshold(Integer.MAX_VALUE);
+            long sequential = time(list);
+            list.setParallelScanThreshold(0);
+            long parallel = time(list);
+            System.out.println(size + "\t" + sequential / 1000 + "\t" + parallel / 1000);
+        }
+    }
+
+    private static long time(TaskList list) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            list.filter(KEYWORD);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            list.filter(KEYWORD);
+        }
+        return (System.nanoTime() - start) / MEASURED_ROUNDS;
+    }
+}
@@ -3,6 +3,7 @@ package voy;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.List;
 
 import voy.command.Command;
 import voy.exception.OrbitException;
@@ -16,7 +17,6 @@ import voy.ui.format.UiMessageFormatter;
  * Handles program startup and command execution loop.
  */
 public class VoyCli {
-
     /**
      * Starts the Orbit application.
      *
@@ -38,8 +38,16 @@ public class VoyCli {
         BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
         UiMessageFormatter.getWelcomeMessage();
 
-        Storage storage = new Storage("./data/orbit.txt");
+        Storage storage = new Storage("./data/orbit.txt", true);
+        storage.setArchiveAfterFromSystemProperty();
         TaskList taskList = storage.load();
+        List<String> warnings = storage.takeWarnings();
+        try {
+            taskList.setParallelScanThresholdFromSystemProperty();
+        } catch (OrbitException e) {
+            warnings.add(e.getMessage());
+        }
+        printWarnings(warnings);
 
         boolean isExit = false;
 
@@ -53,6 +61,16 @@ public class VoyCli {
             } catch (OrbitException e) {
                 UiMessageFormatter.formatResponse(e.getMessage());
             }
+            printWarnings(storage.takeWarnings());
+        }
+    }
+
+    /**
+     * Prints warnings raised while loading or saving, such as skipped corrupted lines.
+     */
+    private static void printWarnings(List<String> warnings) {
+        if (!warnings.isEmpty()) {
+            System.out.print(UiMessageFormatter.formatResponse(warnings.toArray(new String[0])));
         }
     }
 }
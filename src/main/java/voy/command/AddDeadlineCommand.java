@@ -35,7 +35,7 @@ public class AddDeadlineCommand implements Command {
     @Override
     public String execute(TaskList tasks, Storage storage) throws OrbitException {
         tasks.addTask(deadline);
-        storage.save(tasks);
+        storage.saveAdded(tasks, deadline);
         return UiMessageFormatter.formatTaskAdded(tasks.size(), deadline.toString());
     }
     @Override
@@ -2,9 +2,16 @@ package voy.command;
 
 import static voy.command.CommandType.EVENT;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import voy.exception.OrbitException;
 import voy.storage.Storage;
 import voy.task.Event;
+import voy.task.RecurringEvent;
+import voy.task.Task;
 import voy.task.TaskList;
 import voy.ui.format.UiMessageFormatter;
 
@@ -12,6 +19,11 @@ import voy.ui.format.UiMessageFormatter;
  * Represents a command that adds an {@link Event} task to the task list.
  */
 public class AddEventCommand implements Command {
+    /** A new recurring event is checked for conflicts over at most this many of its first occurrences. */
+    private static final int MAX_CHECKED_OCCURRENCES = 52;
+    /** A new recurring event stops looking for conflicts once this many have been found. */
+    private static final int MAX_RECURRING_CONFLICTS = 10;
+
     private final Event event;
 
     /**
@@ -25,7 +37,10 @@ public class AddEventCommand implements Command {
 
     /**
      * Adds the event task to the task list, displays confirmation to the user,
-     * and saves the updated task list.
+     * and saves the updated task list. Existing events overlapping the new one
+     * are listed as a warning; the event is added regardless. A recurring event is
+     * checked one occurrence at a time over its first 52 occurrences, up to the first
+     * few conflicts; an event or series is listed once however many occurrences it overlaps.
      *
      * @param tasks   Task list to add the event to.
      * @param storage Storage used to persist tasks.
@@ -34,9 +49,42 @@ public class AddEventCommand implements Command {
      */
     @Override
     public String execute(TaskList tasks, Storage storage) throws OrbitException {
+        ArrayList<Task> conflicts = findConflicts(tasks);
         tasks.addTask(event);
-        storage.save(tasks);
-        return UiMessageFormatter.formatTaskAdded(tasks.size(), event.toString());
+        storage.saveAdded(tasks, event);
+        String added = UiMessageFormatter.formatTaskAdded(tasks.size(), event.toString());
+        if (conflicts.isEmpty()) {
+            return added;
+        }
+        return added + formatConflicts(conflicts);
+    }
+
+    private ArrayList<Task> findConflicts(TaskList tasks) {
+        if (!(event instanceof RecurringEvent)) {
+            return tasks.findOverlappingEventTasks(event.getStartDate(), event.getEndDate());
+        }
+        RecurringEvent series = (RecurringEvent) event;
+        // tasks do not override equals, so this keeps each conflicting event or series once
+        Set<Task> conflicts = new LinkedHashSet<>();
+        Iterator<Event> occurrences = series.occurrences(series.getStartDate(), series.getSeriesEnd());
+        for (int checked = 0; checked < MAX_CHECKED_OCCURRENCES && occurrences.hasNext()
+                && conflicts.size() < MAX_RECURRING_CONFLICTS; checked++) {
+            Event occurrence = occurrences.next();
+            for (Task hit : tasks.findOverlappingEventTasks(occurrence.getStartDate(), occurrence.getEndDate())) {
+                if (conflicts.size() < MAX_RECURRING_CONFLICTS) {
+                    conflicts.add(hit);
+                }
+            }
+        }
+        return new ArrayList<>(conflicts);
+    }
+
+    private static String formatConflicts(ArrayList<Task> conflicts) {
+        StringBuilder sb = new StringBuilder("⚠ This overlaps with:\n");
+        for (Task conflict : conflicts) {
+            sb.append(" ").append(conflict).append("\n");
+        }
+        return sb.toString();
     }
     @Override
     public CommandType getCommandType() {
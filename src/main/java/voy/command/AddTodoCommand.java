@@ -35,7 +35,7 @@ public class AddTodoCommand implements Command {
     @Override
     public String execute(TaskList tasks, Storage storage) throws OrbitException {
         tasks.addTask(todo);
-        storage.save(tasks);
+        storage.saveAdded(tasks, todo);
         return UiMessageFormatter.formatTaskAdded(tasks.size(), todo.toString());
     }
     @Override
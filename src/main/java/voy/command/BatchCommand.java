@@ -0,0 +1,83 @@
+package voy.command;
+
+import java.util.List;
+
+import voy.exception.OrbitException;
+import voy.storage.Storage;
+import voy.task.Task;
+import voy.task.TaskList;
+import voy.ui.format.UiMessageFormatter;
+
+/**
+ * Marks, unmarks or deletes several tasks at once, such as {@code delete 1-200,305},
+ * {@code delete done} or {@code mark find:report}.
+ *
+ * <p>
+ * The whole selection is applied to the task list before the data file is written once,
+ * and deleted tasks are removed together rather than one position at a time.
+ */
+public class BatchCommand implements Command {
+    private final CommandType commandType;
+    private final TaskSelection selection;
+
+    /**
+     * Constructs a BatchCommand.
+     *
+     * @param commandType {@code MARK}, {@code UNMARK} or {@code DELETE}.
+     * @param selection Tasks the command applies to.
+     */
+    public BatchCommand(CommandType commandType, TaskSelection selection) {
+        assert commandType == CommandType.MARK || commandType == CommandType.UNMARK
+                || commandType == CommandType.DELETE : "Only mark, unmark and delete can be batched";
+        this.commandType = commandType;
+        this.selection = selection;
+    }
+
+    /**
+     * Applies the command to every selected task and saves the task list once.
+     *
+     * @param tasks Task list containing the tasks.
+     * @param storage Storage used to persist tasks.
+     * @return a formatted summary of the tasks changed.
+     * @throws OrbitException If a selected task number is invalid or saving fails.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws OrbitException {
+        int[] indexes = selection.resolve(tasks);
+        if (indexes.length == 0) {
+            return UiMessageFormatter.formatResponse("No tasks matched.");
+        }
+
+        String message;
+        switch (commandType) {
+        case DELETE:
+            List<Task> removed = tasks.removeTasks(indexes);
+            message = "🌊I've let " + count(removed.size()) + " drift away.\n"
+                    + "Now you have " + count(tasks.size()) + " in the list.";
+            break;
+        case MARK:
+            for (int index : indexes) {
+                tasks.setDone(index, true);
+            }
+            message = "🌊Those waves have settled. I've marked " + count(indexes.length) + " as done.";
+            break;
+        default:
+            for (int index : indexes) {
+                tasks.setDone(index, false);
+            }
+            message = "OK, I've marked " + count(indexes.length) + " as not done yet.";
+            break;
+        }
+        storage.save(tasks);
+        return UiMessageFormatter.formatResponse(message);
+    }
+
+    private static String count(int tasks) {
+        return tasks + (tasks == 1 ? " task" : " tasks");
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return commandType;
+    }
+}
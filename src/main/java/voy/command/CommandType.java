@@ -14,6 +14,8 @@ public enum CommandType {
     FIND,
     BYE,
     FREE,
+    UPCOMING,
+    OVERDUE,
     GREET,
     ERROR
 }
@@ -12,7 +12,7 @@ import voy.ui.format.UiMessageFormatter;
  * Represents a command that deletes a task from the task list.
  */
 public class DeleteCommand implements Command {
-    private final int index;
+    private final TaskReference target;
 
     /**
      * Constructs a DeleteCommand for the specified task index.
@@ -20,7 +20,16 @@ public class DeleteCommand implements Command {
      * @param index Index of the task to delete (0-based).
      */
     public DeleteCommand(int index) {
-        this.index = index;
+        this(TaskReference.atIndex(index));
+    }
+
+    /**
+     * Constructs a DeleteCommand for the task at a position or with an ID.
+     *
+     * @param target Task to delete.
+     */
+    public DeleteCommand(TaskReference target) {
+        this.target = target;
     }
 
     /**
@@ -30,14 +39,15 @@ public class DeleteCommand implements Command {
      * @param tasks Task list to delete the task from.
      * @param storage Storage used to persist tasks.
      * @return a formatted feedback message describing the deleted task.
-     * @throws OrbitException If the task index is invalid or saving fails.
+     * @throws OrbitException If the task index or ID is invalid or saving fails.
      */
     @Override
     public String execute(TaskList tasks, Storage storage) throws OrbitException {
+        int index = target.resolve(tasks);
         try {
             assert index >= 0 && index < tasks.size() : "Index should be validated before execute()";
             Task removedTask = tasks.removeTask(index);
-            storage.save(tasks);
+            storage.saveDeleted(tasks, index);
             return UiMessageFormatter.formatTaskDeleted(tasks.size(), removedTask.toString());
         } catch (IndexOutOfBoundsException e) {
             throw new OrbitException("Invalid task number.");
@@ -2,7 +2,7 @@ package voy.command;
 
 import static voy.command.CommandType.FIND;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import voy.exception.OrbitException;
 import voy.storage.Storage;
@@ -15,6 +15,7 @@ import voy.ui.format.UiMessageFormatter;
  */
 public class FindCommand implements Command {
     private final String keyword;
+    private final boolean isArchived;
 
     /**
      * Constructs a FindCommand with the specified search keyword.
@@ -22,7 +23,18 @@ public class FindCommand implements Command {
      * @param keyword Keyword used to filter tasks.
      */
     public FindCommand(String keyword) {
+        this(keyword, false);
+    }
+
+    /**
+     * Constructs a FindCommand with the specified search keyword.
+     *
+     * @param keyword Keyword used to filter tasks.
+     * @param isArchived Whether to search archived tasks instead of active ones.
+     */
+    public FindCommand(String keyword, boolean isArchived) {
         this.keyword = keyword;
+        this.isArchived = isArchived;
     }
 
     /**
@@ -30,13 +42,13 @@ public class FindCommand implements Command {
      * and displays the matching tasks to the user.
      *
      * @param tasks Task list to search from.
-     * @param storage Unused but required by the Command interface.
+     * @param storage Storage holding the archive.
      * @return a formatted list of matching tasks.
-     * @throws OrbitException Not thrown by this command but declared for consistency.
+     * @throws OrbitException If the archive cannot be read.
      */
     @Override
     public String execute(TaskList tasks, Storage storage) throws OrbitException {
-        ArrayList<Task> list = tasks.filter(keyword);
+        List<Task> list = isArchived ? storage.findArchived(keyword) : tasks.filter(keyword);
 
         if (list.isEmpty()) {
             return UiMessageFormatter.formatResponse(
@@ -47,9 +59,10 @@ public class FindCommand implements Command {
         return UiMessageFormatter.formatResponse(sb.toString().trim());
     }
 
-    private StringBuilder getStringBuilder(ArrayList<Task> list) {
+    private StringBuilder getStringBuilder(List<Task> list) {
         StringBuilder sb = new StringBuilder(
-                "Here are the tasks with keyword \"" + keyword.toUpperCase() + "\" in your list:\n"
+                "Here are the tasks with keyword \"" + keyword.toUpperCase() + "\" in your "
+                        + (isArchived ? "archive" : "list") + ":\n"
         );
         for (int i = 0; i < list.size(); i++) {
             sb.append(i + 1).append(". ").append(list.get(i)).append("\n");
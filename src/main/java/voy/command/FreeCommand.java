@@ -3,77 +3,90 @@ package voy.command;
 import static voy.command.CommandType.FREE;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.List;
 
 import voy.storage.Storage;
-import voy.task.Task;
 import voy.task.TaskList;
-import voy.task.TaskType;
 import voy.ui.format.UiMessageFormatter;
 
 /**
- * Represents a time interval with a start and end {@link LocalDateTime}.
+ * Finds the earliest available free time slots within a horizon of days, for one or more durations.
  *
  * <p>
- * Used internally by {@link FreeCommand} to represent busy time blocks
- * when searching for available free slots.
+ * Each day is searched between the configured daily hours (9:00 AM to 10:00 PM by default)
+ * over the next 7 days by default, and the first slots long enough for each requested duration
+ * are returned, earliest first.
+ *
+ * <p>
+ * Only {@code EVENT} tasks are considered as busy time blocks. Busy minutes come from the task
+ * list's per-day availability bitmaps, which are built once and shared by every duration of the
+ * command and by later {@code free} commands.
  */
-class TimeBlock {
-    private final LocalDateTime start;
-    private final LocalDateTime end;
+public class FreeCommand implements Command {
+    public static final int DEFAULT_WITHIN_DAYS = 7;
+    public static final LocalTime DEFAULT_DAY_START = LocalTime.of(9, 0);
+    public static final LocalTime DEFAULT_DAY_END = LocalTime.of(22, 0);
+    public static final int DEFAULT_TOP = 1;
 
-    TimeBlock(LocalDateTime start, LocalDateTime end) {
-        this.start = start;
-        this.end = end;
-    }
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy hh:mma");
 
-    LocalDateTime getStart() {
-        return start;
-    }
+    private final List<Long> durationsMinutes;
+    private final int withinDays;
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final int top;
 
-    LocalDateTime getEnd() {
-        return end;
+    /**
+     * Constructs a FreeCommand that finds the earliest slot in the next 7 days, 9:00 AM to 10:00 PM.
+     *
+     * @param durationMinutes Required slot length in minutes.
+     */
+    public FreeCommand(long durationMinutes) {
+        this(durationMinutes, DEFAULT_WITHIN_DAYS, DEFAULT_DAY_START, DEFAULT_DAY_END, DEFAULT_TOP);
     }
 
     /**
-     * Formats a {@link LocalDateTime} into a user-friendly string.
+     * Constructs a FreeCommand for a single duration.
      *
-     * @param dateTime the date-time to format
-     * @return formatted date-time string (e.g., Feb 13 2026 09:00AM)
+     * @param durationMinutes Required slot length in minutes.
+     * @param withinDays Number of days searched, starting today.
+     * @param dayStart Earliest time of day a slot may start.
+     * @param dayEnd Latest time of day a slot may end.
+     * @param top Maximum number of slots returned.
      */
-
-    public static String displayDateTime(LocalDateTime dateTime) {
-        return dateTime.format(
-                DateTimeFormatter.ofPattern("MMM d yyyy hh:mma")
-        );
+    public FreeCommand(long durationMinutes, int withinDays, LocalTime dayStart, LocalTime dayEnd, int top) {
+        this(List.of(durationMinutes), withinDays, dayStart, dayEnd, top);
     }
-}
 
-/**
- * Finds the earliest available free time slot within the next 7 days.
- *
- * <p>
- * The command searches each day from 9:00 AM to 10:00 PM and
- * returns the earliest time slot that satisfies the requested duration.
- *
- * <p>
- * Only {@code EVENT} tasks are considered as busy time blocks.
- */
-public class FreeCommand implements Command {
-    private static final int DAY = 7;
-    private long durationMinutes;
-
-    public FreeCommand(long durationMinutes) {
-        this.durationMinutes = durationMinutes;
+    /**
+     * Constructs a FreeCommand that searches for several durations at once.
+     *
+     * @param durationsMinutes Required slot lengths in minutes, in the order they are reported.
+     * @param withinDays Number of days searched, starting today.
+     * @param dayStart Earliest time of day a slot may start.
+     * @param dayEnd Latest time of day a slot may end.
+     * @param top Maximum number of slots returned per duration.
+     */
+    public FreeCommand(List<Long> durationsMinutes, int withinDays, LocalTime dayStart, LocalTime dayEnd, int top) {
+        assert !durationsMinutes.isEmpty() : "At least one duration is required";
+        assert durationsMinutes.stream().allMatch(minutes -> minutes > 0) : "Durations must be positive";
+        assert withinDays > 0 && top > 0 : "Horizon and result count must be positive";
+        assert dayStart.isBefore(dayEnd) : "Daily hours must start before they end";
+        this.durationsMinutes = List.copyOf(durationsMinutes);
+        this.withinDays = withinDays;
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.top = top;
     }
 
     /**
      * Executes the FREE command.
      *
      * <p>
-     * Searches for the earliest free time slot within the next 7 days.
-     * If a suitable slot is found, it is returned in a formatted message.
+     * Searches for the earliest free time slots within the horizon for every requested duration.
+     * If suitable slots are found, they are returned in a formatted message.
      * Otherwise, a message indicating no availability is returned.
      *
      * @param tasks the current task list
@@ -82,135 +95,71 @@ public class FreeCommand implements Command {
      */
     @Override
     public String execute(TaskList tasks, Storage storage) {
-        ArrayList<Task> list = tasks.getTasks();
-
-        if (list.isEmpty()) {
+        if (tasks.size() == 0) {
             return UiMessageFormatter.formatResponse("No tasks yet.");
         }
 
-        for (int i = 0; i < DAY; i++) {
-            LocalDateTime base = LocalDateTime.now().plusDays(i);
-            LocalDateTime dayStart = base.withHour(9).withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime dayEnd = base.withHour(22).withMinute(0).withSecond(0).withNano(0);
-
-            ArrayList<TimeBlock> busyBlocks = buildBusyBlocks(list, dayStart, dayEnd);
-            System.out.println("dayStart=" + dayStart + " dayEnd=" + dayEnd);
-            System.out.println("durationMinutes=" + durationMinutes);
-            System.out.println("busyBlocks size=" + busyBlocks.size());
-            LocalDateTime slotStart = findSlot(busyBlocks, dayStart, dayEnd, durationMinutes);
-
-            if (slotStart != null) {
-                return UiMessageFormatter.formatResponse(
-                        "Free slot found :\n" + TimeBlock.displayDateTime(slotStart)
-                                + " to " + TimeBlock.displayDateTime(slotStart.plusMinutes(durationMinutes)));
+        LocalDateTime now = LocalDateTime.now();
+        if (durationsMinutes.size() == 1) {
+            long durationMinutes = durationsMinutes.get(0);
+            List<LocalDateTime> slots = findSlots(tasks, now, durationMinutes);
+            if (slots.isEmpty()) {
+                return UiMessageFormatter.formatResponse("No free slot found.");
             }
+            if (slots.size() == 1) {
+                return UiMessageFormatter.formatResponse("Free slot found :\n"
+                        + formatSlot(slots.get(0), durationMinutes));
+            }
+            return UiMessageFormatter.formatResponse("Free slots found :\n"
+                    + formatSlots(slots, durationMinutes, "").trim());
         }
-        return UiMessageFormatter.formatResponse("No free slot found.");
-    }
 
-    /**
-     * Builds and returns a list of busy time blocks for a given day.
-     *
-     * <p>
-     * Only {@code EVENT} tasks that overlap with the specified day window
-     * are included. Overlapping intervals are merged before returning.
-     *
-     * @param list the list of tasks
-     * @param dayStart the start of the day window
-     * @param dayEnd the end of the day window
-     * @return merged list of busy time blocks
-     */
-    private static ArrayList<TimeBlock> buildBusyBlocks(
-            ArrayList<Task> list, LocalDateTime dayStart, LocalDateTime dayEnd) {
-        ArrayList<TimeBlock> busyBlocks = new ArrayList<>();
-        for (Task task : list) {
-            if (task.getTaskType() == TaskType.EVENT) {
-
-                LocalDateTime start = task.getStartDate();
-                LocalDateTime end = task.getEndDate();
-
-                if (end.isBefore(dayStart) || start.isAfter(dayEnd)) {
-                    continue;
-                }
-                LocalDateTime clippedStart = start.isBefore(dayStart) ? dayStart : start;
-                LocalDateTime clippedEnd = end.isAfter(dayEnd) ? dayEnd : end;
-                busyBlocks.add(new TimeBlock(clippedStart, clippedEnd));
+        StringBuilder sb = new StringBuilder("Free slots found :\n");
+        boolean isAnyFound = false;
+        for (long durationMinutes : durationsMinutes) {
+            List<LocalDateTime> slots = findSlots(tasks, now, durationMinutes);
+            sb.append("For ").append(formatDuration(durationMinutes)).append(":\n");
+            if (slots.isEmpty()) {
+                sb.append("   No free slot found.\n");
+            } else {
+                sb.append(formatSlots(slots, durationMinutes, "   "));
+                isAnyFound = true;
             }
         }
-        busyBlocks.sort((a, b) -> a.getStart().compareTo(b.getStart()));
-        return mergeBlocks(busyBlocks);
+        if (!isAnyFound) {
+            return UiMessageFormatter.formatResponse("No free slot found.");
+        }
+        return UiMessageFormatter.formatResponse(sb.toString().trim());
     }
 
-    /**
-     * Finds the earliest available time slot within a given day.
-     *
-     * <p>
-     * The method scans through the list of busy time blocks and determines
-     * if there exists a gap that satisfies the requested duration.
-     *
-     * @param busyBlocks the list of merged busy time blocks
-     * @param dayStart the start of the day window
-     * @param dayEnd the end of the day window
-     * @param durationMinutes the required duration in minutes
-     * @return the starting time of the free slot if found, otherwise null
-     */
-    private static LocalDateTime findSlot(ArrayList<TimeBlock> busyBlocks, LocalDateTime dayStart,
-                                          LocalDateTime dayEnd, long durationMinutes) {
-        LocalDateTime cursor = dayStart;
-
-        for (TimeBlock block : busyBlocks) {
-            System.out.println("busy: " + block.getStart() + " -> " + block.getEnd());
+    private static String formatSlots(List<LocalDateTime> slots, long durationMinutes, String indent) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < slots.size(); i++) {
+            sb.append(indent).append(i + 1).append(". ")
+                    .append(formatSlot(slots.get(i), durationMinutes)).append("\n");
+        }
+        return sb.toString();
+    }
 
-            LocalDateTime startTime = block.getStart();
-            LocalDateTime endTime = block.getEnd();
+    private static String formatSlot(LocalDateTime slotStart, long durationMinutes) {
+        LocalDateTime slotEnd = slotStart.plusMinutes(durationMinutes);
+        return slotStart.format(DISPLAY_FORMAT) + " to " + slotEnd.format(DISPLAY_FORMAT);
+    }
 
-            long gapMinutes = java.time.Duration.between(cursor, startTime).toMinutes();
-            if (gapMinutes >= durationMinutes) {
-                return cursor;
-            }
-            if (endTime.isAfter(cursor)) {
-                cursor = endTime;
-            }
-        }
-        long finalGapMinutes = java.time.Duration.between(cursor, dayEnd).toMinutes();
-        if (finalGapMinutes >= durationMinutes) {
-            return cursor;
-        }
-        return null;
+    private static String formatDuration(long minutes) {
+        return minutes % 60 == 0 ? (minutes / 60) + "h" : minutes + "m";
     }
 
     /**
-     * Merges overlapping or adjacent time blocks into consolidated blocks.
+     * Returns the start times of the first free slots of the given length, earliest first.
      *
-     * <p>
-     * Assumes the input list is already sorted by start time.
-     *
-     * @param blocks the sorted list of time blocks
-     * @return a new list containing merged time blocks
+     * @param tasks the current task list
+     * @param now the time from which slots may start
+     * @param durationMinutes the required slot length in minutes
+     * @return up to {@code top} slot start times
      */
-    private static ArrayList<TimeBlock> mergeBlocks(ArrayList<TimeBlock> blocks) {
-        ArrayList<TimeBlock> merged = new ArrayList<>();
-        if (blocks.isEmpty()) {
-            return merged;
-        }
-
-        TimeBlock cur = blocks.get(0);
-
-        for (int i = 1; i < blocks.size(); i++) {
-            TimeBlock next = blocks.get(i);
-
-            // overlap or touching (next.start <= cur.end)
-            if (!next.getStart().isAfter(cur.getEnd())) {
-                LocalDateTime newEnd = next.getEnd().isAfter(cur.getEnd()) ? next.getEnd() : cur.getEnd();
-                cur = new TimeBlock(cur.getStart(), newEnd);
-            } else {
-                merged.add(cur);
-                cur = next;
-            }
-        }
-
-        merged.add(cur);
-        return merged;
+    List<LocalDateTime> findSlots(TaskList tasks, LocalDateTime now, long durationMinutes) {
+        return tasks.findFreeSlots(now, withinDays, dayStart, dayEnd, durationMinutes, top);
     }
 
     @Override
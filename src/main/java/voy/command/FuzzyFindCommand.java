@@ -0,0 +1,61 @@
+package voy.command;
+
+import static voy.command.CommandType.FIND;
+
+import java.util.ArrayList;
+
+import voy.storage.Storage;
+import voy.task.Task;
+import voy.task.TaskList;
+import voy.ui.format.UiMessageFormatter;
+
+/**
+ * Represents a command that searches for tasks resembling a keyword, tolerating typos,
+ * and lists the closest matches first.
+ */
+public class FuzzyFindCommand implements Command {
+    /** Maximum number of matches shown. */
+    static final int MAX_RESULTS = 10;
+
+    private final String keyword;
+
+    /**
+     * Constructs a FuzzyFindCommand with the specified search keyword.
+     *
+     * @param keyword Keyword to match approximately.
+     */
+    public FuzzyFindCommand(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Finds the tasks whose descriptions best match the keyword and displays them,
+     * most relevant first.
+     *
+     * @param tasks Task list to search from.
+     * @param storage Unused but required by the Command interface.
+     * @return a formatted list of the closest matches.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        ArrayList<Task> list = tasks.fuzzyFilter(keyword, MAX_RESULTS);
+
+        if (list.isEmpty()) {
+            return UiMessageFormatter.formatResponse(
+                    "No tasks found resembling \"" + keyword.toUpperCase() + "\"."
+            );
+        }
+        StringBuilder sb = new StringBuilder(
+                "Here are the tasks closest to \"" + keyword.toUpperCase() + "\":\n"
+        );
+        for (int i = 0; i < list.size(); i++) {
+            sb.append(i + 1).append(". ").append(list.get(i)).append("\n");
+        }
+        return UiMessageFormatter.formatResponse(sb.toString().trim());
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return FIND;
+    }
+}
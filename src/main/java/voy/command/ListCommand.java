@@ -2,8 +2,9 @@ package voy.command;
 
 import static voy.command.CommandType.LIST;
 
-import java.util.ArrayList;
+import java.util.List;
 
+import voy.exception.OrbitException;
 import voy.storage.Storage;
 import voy.task.Task;
 import voy.task.TaskList;
@@ -11,20 +12,43 @@ import voy.ui.format.UiMessageFormatter;
 
 /**
  * Represents a command that lists all tasks to the user.
+ * Active tasks are shown with their IDs, which {@code mark}, {@code unmark} and {@code delete}
+ * accept in place of a task number.
  */
 public class ListCommand implements Command {
+    private final boolean isArchived;
 
     /**
-     * Displays all tasks in the task list.
+     * Constructs a ListCommand that lists the active tasks.
+     */
+    public ListCommand() {
+        this(false);
+    }
+
+    /**
+     * Constructs a ListCommand.
+     *
+     * @param isArchived Whether to list archived tasks instead of active ones.
+     */
+    public ListCommand(boolean isArchived) {
+        this.isArchived = isArchived;
+    }
+
+    /**
+     * Displays all tasks in the task list, or all archived tasks.
      * If the list is empty, a corresponding message is shown.
      *
      * @param tasks Task list to display.
-     * @param storage Unused but required by the Command interface.
+     * @param storage Storage holding the archive.
      * @return a formatted list of all tasks.
+     * @throws OrbitException If the archive cannot be read.
      */
     @Override
-    public String execute(TaskList tasks, Storage storage) {
-        ArrayList<Task> list = tasks.getTasks();
+    public String execute(TaskList tasks, Storage storage) throws OrbitException {
+        if (isArchived) {
+            return listArchived(storage.loadArchived());
+        }
+        List<Task> list = tasks.snapshot();
         if (list.isEmpty()) {
             return UiMessageFormatter.formatResponse("No tasks yet.");
         }
@@ -33,11 +57,23 @@ public class ListCommand implements Command {
         return UiMessageFormatter.formatResponse(sb.toString().trim());
     }
 
-    private static StringBuilder getStringBuilder(ArrayList<Task> list) {
-        StringBuilder sb = new StringBuilder("Here are the tasks in your list:\n");
+    private static String listArchived(List<Task> list) {
+        if (list.isEmpty()) {
+            return UiMessageFormatter.formatResponse("No archived tasks.");
+        }
+        StringBuilder sb = new StringBuilder("Here are your archived tasks:\n");
         for (int i = 0; i < list.size(); i++) {
             sb.append(i + 1).append(". ").append(list.get(i)).append("\n");
         }
+        return UiMessageFormatter.formatResponse(sb.toString().trim());
+    }
+
+    private static StringBuilder getStringBuilder(List<Task> list) {
+        StringBuilder sb = new StringBuilder("Here are the tasks in your list:\n");
+        for (int i = 0; i < list.size(); i++) {
+            Task task = list.get(i);
+            sb.append(i + 1).append(". #").append(task.getId()).append(' ').append(task).append("\n");
+        }
         return sb;
     }
 
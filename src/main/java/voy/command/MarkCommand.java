@@ -12,7 +12,7 @@ import voy.ui.format.UiMessageFormatter;
  * Represents a command that marks a task as done.
  */
 public class MarkCommand implements Command {
-    private final int index;
+    private final TaskReference target;
 
     /**
      * Constructs a MarkCommand for the specified task index.
@@ -20,7 +20,16 @@ public class MarkCommand implements Command {
      * @param index Index of the task to mark as done (0-based).
      */
     public MarkCommand(int index) {
-        this.index = index;
+        this(TaskReference.atIndex(index));
+    }
+
+    /**
+     * Constructs a MarkCommand for the task at a position or with an ID.
+     *
+     * @param target Task to mark as done.
+     */
+    public MarkCommand(TaskReference target) {
+        this.target = target;
     }
 
     /**
@@ -29,15 +38,15 @@ public class MarkCommand implements Command {
      * @param tasks Task list containing the task.
      * @param storage Storage used to persist tasks.
      * @return a formatted feedback message describing the updated task.
-     * @throws OrbitException If the task index is invalid or saving fails.
+     * @throws OrbitException If the task index or ID is invalid or saving fails.
      */
     @Override
     public String execute(TaskList tasks, Storage storage) throws OrbitException {
+        int index = target.resolve(tasks);
         try {
             assert index >= 0 && index < tasks.size() : "Index should be validated before execute()";
-            Task task = tasks.getTask(index);
-            task.markAsDone();
-            storage.save(tasks);
+            Task task = tasks.setDone(index, true);
+            storage.saveMarked(tasks, index);
             return UiMessageFormatter.formatResponse("🌊That wave has settled. "
                     + "Well done!\nI've marked this task as done:\n  " + task);
         } catch (IndexOutOfBoundsException e) {
@@ -0,0 +1,43 @@
+package voy.command;
+
+import static voy.command.CommandType.OVERDUE;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import voy.storage.Storage;
+import voy.task.Task;
+import voy.task.TaskList;
+import voy.ui.format.UiMessageFormatter;
+
+/**
+ * Represents a command that lists the deadlines that have passed without being done.
+ */
+public class OverdueCommand implements Command {
+
+    /**
+     * Lists the pending deadlines due before now, earliest first.
+     *
+     * @param tasks Task list to read from.
+     * @param storage Unused but required by the Command interface.
+     * @return a formatted list of overdue deadlines.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        ArrayList<Task> list = tasks.overdue(LocalDateTime.now());
+
+        if (list.isEmpty()) {
+            return UiMessageFormatter.formatResponse("Nothing is overdue.");
+        }
+        StringBuilder sb = new StringBuilder("These deadlines have passed:\n");
+        for (int i = 0; i < list.size(); i++) {
+            sb.append(i + 1).append(". ").append(list.get(i)).append("\n");
+        }
+        return UiMessageFormatter.formatResponse(sb.toString().trim());
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return OVERDUE;
+    }
+}
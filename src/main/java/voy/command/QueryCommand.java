@@ -0,0 +1,56 @@
+package voy.command;
+
+import static voy.command.CommandType.FIND;
+
+import java.util.ArrayList;
+
+import voy.storage.Storage;
+import voy.task.Task;
+import voy.task.TaskList;
+import voy.task.TaskQuery;
+import voy.ui.format.UiMessageFormatter;
+
+/**
+ * Represents a command that lists the tasks matching a structured query.
+ */
+public class QueryCommand implements Command {
+    private final TaskQuery query;
+    private final String queryText;
+
+    /**
+     * Constructs a QueryCommand.
+     *
+     * @param query Parsed query.
+     * @param queryText Query as typed by the user, for display.
+     */
+    public QueryCommand(TaskQuery query, String queryText) {
+        this.query = query;
+        this.queryText = queryText;
+    }
+
+    /**
+     * Finds the tasks matching the query and displays them in list order.
+     *
+     * @param tasks Task list to search from.
+     * @param storage Unused but required by the Command interface.
+     * @return a formatted list of matching tasks.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        ArrayList<Task> list = tasks.query(query);
+
+        if (list.isEmpty()) {
+            return UiMessageFormatter.formatResponse("No tasks match \"" + queryText + "\".");
+        }
+        StringBuilder sb = new StringBuilder("Here are the tasks matching \"" + queryText + "\":\n");
+        for (int i = 0; i < list.size(); i++) {
+            sb.append(i + 1).append(". ").append(list.get(i)).append("\n");
+        }
+        return UiMessageFormatter.formatResponse(sb.toString().trim());
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return FIND;
+    }
+}
@@ -0,0 +1,59 @@
+package voy.command;
+
+import voy.exception.OrbitException;
+import voy.task.TaskList;
+
+/**
+ * Refers to a task either by its position in the list or by its ID.
+ * <p>
+ * Positions shift as earlier tasks are deleted; IDs do not, so a task listed as {@code #12} can be
+ * referred to the same way after other deletions.
+ */
+public class TaskReference {
+    private final int index;
+    private final long id;
+
+    private TaskReference(int index, long id) {
+        this.index = index;
+        this.id = id;
+    }
+
+    /**
+     * Returns a reference to the task at the given position.
+     *
+     * @param index Index of the task (0-based).
+     * @return Reference by position.
+     */
+    public static TaskReference atIndex(int index) {
+        return new TaskReference(index, 0);
+    }
+
+    /**
+     * Returns a reference to the task with the given ID.
+     *
+     * @param id Task ID.
+     * @return Reference by ID.
+     */
+    public static TaskReference withId(long id) {
+        assert id > 0 : "Task IDs are positive";
+        return new TaskReference(-1, id);
+    }
+
+    /**
+     * Returns the current position of the referred task.
+     *
+     * @param tasks Task list containing the task.
+     * @return Index of the task (0-based); not checked against the list size for a reference by position.
+     * @throws OrbitException If no task in the list has the referred ID.
+     */
+    int resolve(TaskList tasks) throws OrbitException {
+        if (id == 0) {
+            return index;
+        }
+        int found = tasks.indexOfId(id);
+        if (found < 0) {
+            throw new OrbitException("No task with ID #" + id + ".");
+        }
+        return found;
+    }
+}
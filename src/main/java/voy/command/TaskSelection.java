@@ -0,0 +1,101 @@
+package voy.command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import voy.exception.OrbitException;
+import voy.task.Task;
+import voy.task.TaskList;
+
+/**
+ * Selects several tasks at once: by task numbers and ranges, every completed task, or every task
+ * whose description contains a keyword.
+ */
+public class TaskSelection {
+    private final List<int[]> ranges;
+    private final boolean isDoneOnly;
+    private final String keyword;
+
+    private TaskSelection(List<int[]> ranges, boolean isDoneOnly, String keyword) {
+        this.ranges = ranges;
+        this.isDoneOnly = isDoneOnly;
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns a selection of the tasks in the given ranges of positions.
+     *
+     * @param ranges Zero-based inclusive {@code {first, last}} pairs; may overlap.
+     * @return Selection by position.
+     */
+    public static TaskSelection ofRanges(List<int[]> ranges) {
+        assert !ranges.isEmpty() : "At least one range is required";
+        return new TaskSelection(List.copyOf(ranges), false, null);
+    }
+
+    /**
+     * Returns a selection of every completed task.
+     *
+     * @return Selection of done tasks.
+     */
+    public static TaskSelection done() {
+        return new TaskSelection(null, true, null);
+    }
+
+    /**
+     * Returns a selection of every task whose description contains the keyword, ignoring case.
+     *
+     * @param keyword Keyword to search for, as with the {@code find} command.
+     * @return Selection by keyword.
+     */
+    public static TaskSelection matching(String keyword) {
+        assert !keyword.isBlank() : "Keyword must not be blank";
+        return new TaskSelection(null, false, keyword);
+    }
+
+    /**
+     * Returns the current positions of the selected tasks.
+     *
+     * @param tasks Task list to select from.
+     * @return Zero-based indexes in increasing order, without duplicates; empty if nothing matches.
+     * @throws OrbitException If a range reaches past the end of the list.
+     */
+    int[] resolve(TaskList tasks) throws OrbitException {
+        if (keyword != null) {
+            return sortedDistinct(tasks.indexesOf(tasks.filter(keyword)));
+        }
+        if (isDoneOnly) {
+            IntStream.Builder done = IntStream.builder();
+            List<Task> list = tasks.snapshot();
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i).isDone()) {
+                    done.add(i);
+                }
+            }
+            return done.build().toArray();
+        }
+
+        List<int[]> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingInt(range -> range[0]));
+        IntStream.Builder indexes = IntStream.builder();
+        int next = 0;
+        for (int[] range : sorted) {
+            if (range[1] >= tasks.size()) {
+                throw new OrbitException("Invalid task number: " + (range[1] + 1) + ".");
+            }
+            // ranges are in order of their first position, so skipping what earlier ones covered drops overlaps
+            for (int i = Math.max(range[0], next); i <= range[1]; i++) {
+                indexes.add(i);
+            }
+            next = Math.max(next, range[1] + 1);
+        }
+        return indexes.build().toArray();
+    }
+
+    private static int[] sortedDistinct(int[] indexes) {
+        return Arrays.stream(indexes).sorted().distinct().toArray();
+    }
+}
@@ -12,7 +12,7 @@ import voy.ui.format.UiMessageFormatter;
  * Represents a command that marks a task as not done.
  */
 public class UnmarkCommand implements Command {
-    private final int index;
+    private final TaskReference target;
 
     /**
      * Constructs an UnmarkCommand for the specified task index.
@@ -20,7 +20,16 @@ public class UnmarkCommand implements Command {
      * @param index Index of the task to unmark (0-based).
      */
     public UnmarkCommand(int index) {
-        this.index = index;
+        this(TaskReference.atIndex(index));
+    }
+
+    /**
+     * Constructs an UnmarkCommand for the task at a position or with an ID.
+     *
+     * @param target Task to unmark.
+     */
+    public UnmarkCommand(TaskReference target) {
+        this.target = target;
     }
 
     /**
@@ -29,15 +38,15 @@ public class UnmarkCommand implements Command {
      * @param tasks Task list containing the task.
      * @param storage Storage used to persist tasks.
      * @return a formatted feedback message describing the updated task.
-     * @throws OrbitException If the task index is invalid or saving fails.
+     * @throws OrbitException If the task index or ID is invalid or saving fails.
      */
     @Override
     public String execute(TaskList tasks, Storage storage) throws OrbitException {
+        int index = target.resolve(tasks);
         try {
             assert index >= 0 && index < tasks.size() : "Index should be validated before execute()";
-            Task task = tasks.getTask(index);
-            task.markAsNotDone();
-            storage.save(tasks);
+            Task task = tasks.setDone(index, false);
+            storage.saveUnmarked(tasks, index);
             return UiMessageFormatter.formatResponse("OK, I've marked this task as not done yet:\n  " + task);
         } catch (IndexOutOfBoundsException e) {
             throw new OrbitException("Invalid task number.");
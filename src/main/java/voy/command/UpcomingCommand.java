@@ -0,0 +1,71 @@
+package voy.command;
+
+import static voy.command.CommandType.UPCOMING;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import voy.storage.Storage;
+import voy.task.Event;
+import voy.task.RecurringEvent;
+import voy.task.Task;
+import voy.task.TaskList;
+import voy.ui.format.UiMessageFormatter;
+
+/**
+ * Represents a command that lists the next deadlines and events that are not done yet.
+ */
+public class UpcomingCommand implements Command {
+    public static final int DEFAULT_LIMIT = 10;
+
+    private final int limit;
+
+    /**
+     * Constructs an UpcomingCommand that lists the next 10 tasks.
+     */
+    public UpcomingCommand() {
+        this(DEFAULT_LIMIT);
+    }
+
+    /**
+     * Constructs an UpcomingCommand.
+     *
+     * @param limit Maximum number of tasks listed.
+     */
+    public UpcomingCommand(int limit) {
+        assert limit > 0 : "Limit must be positive";
+        this.limit = limit;
+    }
+
+    /**
+     * Lists the pending deadlines and events dated from now on, earliest first.
+     *
+     * @param tasks Task list to read from.
+     * @param storage Unused but required by the Command interface.
+     * @return a formatted list of upcoming tasks.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        LocalDateTime now = LocalDateTime.now();
+        ArrayList<Task> list = tasks.upcoming(now, limit);
+
+        if (list.isEmpty()) {
+            return UiMessageFormatter.formatResponse("Nothing coming up.");
+        }
+        StringBuilder sb = new StringBuilder("Here is what's coming up:\n");
+        for (int i = 0; i < list.size(); i++) {
+            Task task = list.get(i);
+            sb.append(i + 1).append(". ").append(task);
+            if (task instanceof RecurringEvent) {
+                sb.append(" (next: ").append(Event.displayDateTime(((RecurringEvent) task).nextStart(now))).append(")");
+            }
+            sb.append("\n");
+        }
+        return UiMessageFormatter.formatResponse(sb.toString().trim());
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return UPCOMING;
+    }
+}
@@ -0,0 +1,99 @@
+package voy.parser;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+
+import voy.command.FreeCommand;
+import voy.exception.OrbitException;
+
+/**
+ * Parses {@code free} command arguments such as {@code 30m 1h 2h /within 90d /hours 08:00-18:00 /top 5}.
+ * <p>
+ * One or more durations come first, each parsed by {@link TaskParser#parseFreeTime(String)}. The optional
+ * flags are {@code /within Nd} (days searched, default 7), {@code /hours HH:mm-HH:mm} (daily
+ * search window, default 09:00-22:00) and {@code /top N} (slots returned, default 1).
+ */
+public class FreeTimeParser {
+    private static final String FLAG_PREFIX = " /";
+    /** Durations are separated after their unit, so {@code 2 h} still reads as a single duration. */
+    private static final String DURATION_SEPARATOR = "(?<=[hHmM])\\s+";
+    private static final String WITHIN_FLAG = "within";
+    private static final String HOURS_FLAG = "hours";
+    private static final String TOP_FLAG = "top";
+    private static final DateTimeFormatter INPUT_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm").withResolverStyle(ResolverStyle.STRICT);
+
+    private FreeTimeParser() {
+        // Utility class: prevent instantiation.
+    }
+
+    /**
+     * Parses the arguments of a {@code free} command.
+     *
+     * @param args the argument string following the {@code free} command
+     * @return the corresponding command
+     * @throws OrbitException if the duration or any flag is missing or invalid
+     */
+    public static FreeCommand parse(String args) throws OrbitException {
+        String[] parts = (" " + args).split(FLAG_PREFIX);
+        List<Long> durationsMinutes = new ArrayList<>();
+        for (String duration : parts[0].trim().split(DURATION_SEPARATOR)) {
+            durationsMinutes.add(TaskParser.parseFreeTime(duration));
+        }
+
+        int withinDays = FreeCommand.DEFAULT_WITHIN_DAYS;
+        LocalTime dayStart = FreeCommand.DEFAULT_DAY_START;
+        LocalTime dayEnd = FreeCommand.DEFAULT_DAY_END;
+        int top = FreeCommand.DEFAULT_TOP;
+        for (int i = 1; i < parts.length; i++) {
+            String[] flag = parts[i].trim().split(" ", 2);
+            String value = flag.length == 2 ? flag[1].trim() : "";
+            switch (flag[0].toLowerCase()) {
+            case WITHIN_FLAG:
+                withinDays = parsePositive(value.toLowerCase().replaceFirst("d$", ""), "/within 90d");
+                break;
+            case HOURS_FLAG:
+                String[] hours = value.split("-", 2);
+                if (hours.length != 2) {
+                    throw new OrbitException("Invalid hours. Use: /hours 08:00-18:00");
+                }
+                dayStart = parseTime(hours[0]);
+                dayEnd = parseTime(hours[1]);
+                if (!dayStart.isBefore(dayEnd)) {
+                    throw new OrbitException("Daily hours must start before they end. Use: /hours 08:00-18:00");
+                }
+                break;
+            case TOP_FLAG:
+                top = parsePositive(value, "/top 5");
+                break;
+            default:
+                throw new OrbitException("Unknown flag \"/" + flag[0] + "\". Use: /within, /hours or /top.");
+            }
+        }
+        return new FreeCommand(durationsMinutes, withinDays, dayStart, dayEnd, top);
+    }
+
+    private static int parsePositive(String value, String example) throws OrbitException {
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new OrbitException("Invalid value \"" + value + "\". Example: " + example);
+    }
+
+    private static LocalTime parseTime(String value) throws OrbitException {
+        try {
+            return LocalTime.parse(value.trim(), INPUT_TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new OrbitException("Invalid time \"" + value.trim() + "\". Use: HH:mm (e.g., 08:00)");
+        }
+    }
+}
@@ -3,21 +3,31 @@ package voy.parser;
 import voy.command.AddDeadlineCommand;
 import voy.command.AddEventCommand;
 import voy.command.AddTodoCommand;
+import voy.command.BatchCommand;
 import voy.command.ByeCommand;
 import voy.command.Command;
 import voy.command.CommandType;
 import voy.command.DeleteCommand;
 import voy.command.FindCommand;
-import voy.command.FreeCommand;
+import voy.command.FuzzyFindCommand;
 import voy.command.ListCommand;
 import voy.command.MarkCommand;
+import voy.command.OverdueCommand;
+import voy.command.QueryCommand;
+import voy.command.TaskReference;
+import voy.command.TaskSelection;
 import voy.command.UnmarkCommand;
+import voy.command.UpcomingCommand;
 import voy.exception.OrbitException;
 
 /**
  * Parses raw user input into executable {@link Command} objects.
  */
 public class Parser {
+    private static final String ARCHIVED_FLAG = "--archived";
+    private static final String FUZZY_PREFIX = "~";
+    private static final String DONE_SELECTOR = "done";
+    private static final String FIND_SELECTOR_PREFIX = "find:";
 
     /**
      * Parses a raw user input string into an executable {@link Command}.
@@ -53,7 +63,7 @@ public class Parser {
         } catch (IllegalArgumentException e) {
             throw new OrbitException(
                     "Unknown command: \"" + keyword + "\". \nTry: "
-                            + "list, todo, deadline, event, mark, unmark, delete, find, free, bye."
+                            + "list, todo, deadline, event, mark, unmark, delete, find, free, upcoming, overdue, bye."
             );
         }
     }
@@ -67,6 +77,9 @@ public class Parser {
     private static Command buildCommand(CommandType cmd, String args) throws OrbitException {
         switch (cmd) {
         case LIST:
+            if (args.equals(ARCHIVED_FLAG)) {
+                return new ListCommand(true);
+            }
             requireNoArgs(cmd, args);
             return new ListCommand();
         case BYE:
@@ -75,24 +88,98 @@ public class Parser {
         case TODO:
             return new AddTodoCommand(TaskParser.parseTodo(args));
         case MARK:
-            return new MarkCommand(TaskParser.parseTaskIndex(args));
+            if (isBatch(args)) {
+                return new BatchCommand(cmd, parseTaskSelection(args));
+            }
+            return new MarkCommand(parseTaskReference(args));
         case UNMARK:
-            return new UnmarkCommand(TaskParser.parseTaskIndex(args));
+            if (isBatch(args)) {
+                return new BatchCommand(cmd, parseTaskSelection(args));
+            }
+            return new UnmarkCommand(parseTaskReference(args));
         case DELETE:
-            return new DeleteCommand(TaskParser.parseTaskIndex(args));
+            if (isBatch(args)) {
+                return new BatchCommand(cmd, parseTaskSelection(args));
+            }
+            return new DeleteCommand(parseTaskReference(args));
         case DEADLINE:
             return new AddDeadlineCommand(TaskParser.parseDeadline(args));
         case EVENT:
             return new AddEventCommand(TaskParser.parseEvent(args));
         case FIND:
-            if (args.isBlank()) {
+            if (args.isBlank() || args.equals(ARCHIVED_FLAG)) {
                 throw new OrbitException("Find requires a keyword. Example: find book");
             }
+            if (args.startsWith(FUZZY_PREFIX)) {
+                return parseFuzzyFind(args.substring(FUZZY_PREFIX.length()).trim());
+            }
+            if (args.startsWith(ARCHIVED_FLAG + " ")) {
+                return new FindCommand(args.substring(ARCHIVED_FLAG.length() + 1), true);
+            }
+            if (QueryParser.isQuery(args)) {
+                return new QueryCommand(QueryParser.parse(args), args);
+            }
             return new FindCommand(args);
         case FREE:
-            return new FreeCommand(TaskParser.parseFreeTime(args));
+            return FreeTimeParser.parse(args);
+        case UPCOMING:
+            return parseUpcoming(args);
+        case OVERDUE:
+            requireNoArgs(cmd, args);
+            return new OverdueCommand();
         default:
             throw new OrbitException("Invalid command type.");
         }
     }
+
+    /**
+     * Returns whether mark, unmark or delete arguments select several tasks rather than one.
+     */
+    private static boolean isBatch(String args) {
+        return args.equals(DONE_SELECTOR) || args.startsWith(FIND_SELECTOR_PREFIX)
+                || (!args.startsWith(TaskParser.TASK_ID_PREFIX) && (args.contains(",") || args.contains("-")));
+    }
+
+    private static TaskSelection parseTaskSelection(String args) throws OrbitException {
+        if (args.equals(DONE_SELECTOR)) {
+            return TaskSelection.done();
+        }
+        if (args.startsWith(FIND_SELECTOR_PREFIX)) {
+            String keyword = args.substring(FIND_SELECTOR_PREFIX.length()).trim();
+            if (keyword.isEmpty()) {
+                throw new OrbitException("Missing keyword. Example: delete find:report");
+            }
+            return TaskSelection.matching(keyword);
+        }
+        return TaskSelection.ofRanges(TaskParser.parseTaskRanges(args));
+    }
+
+    private static TaskReference parseTaskReference(String args) throws OrbitException {
+        if (args.startsWith(TaskParser.TASK_ID_PREFIX)) {
+            return TaskReference.withId(TaskParser.parseTaskId(args));
+        }
+        return TaskReference.atIndex(TaskParser.parseTaskIndex(args));
+    }
+
+    private static Command parseUpcoming(String args) throws OrbitException {
+        if (args.isBlank()) {
+            return new UpcomingCommand();
+        }
+        try {
+            int limit = Integer.parseInt(args);
+            if (limit > 0) {
+                return new UpcomingCommand(limit);
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new OrbitException("Upcoming takes a positive count. Example: upcoming 10");
+    }
+
+    private static Command parseFuzzyFind(String keyword) throws OrbitException {
+        if (keyword.isBlank()) {
+            throw new OrbitException("Fuzzy find requires a keyword. Example: find ~bok");
+        }
+        return new FuzzyFindCommand(keyword);
+    }
 }
@@ -0,0 +1,131 @@
+package voy.parser;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+import voy.exception.OrbitException;
+import voy.task.TaskQuery;
+import voy.task.TaskType;
+
+/**
+ * Parses structured find queries such as {@code type:deadline done:no before:2026-12-01 report}
+ * into a {@link TaskQuery}.
+ * <p>
+ * Supported filters are {@code type:todo|deadline|event}, {@code done:yes|no},
+ * {@code before:DATE}, {@code after:DATE} and {@code text:WORD}; any other word is treated as
+ * {@code text:WORD}. All filters must hold. Dates use {@code yyyy-MM-dd}: {@code before} excludes
+ * the given day and {@code after} starts the day after it.
+ */
+public class QueryParser {
+    private static final String[] FILTER_KEYS = { "type:", "done:", "before:", "after:", "text:" };
+    private static final DateTimeFormatter INPUT_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT);
+
+    private QueryParser() {
+        // Utility class: prevent instantiation.
+    }
+
+    /**
+     * Returns whether the find arguments use any structured filter.
+     *
+     * @param args Arguments following the {@code find} command.
+     * @return true if at least one word starts with a filter key.
+     */
+    public static boolean isQuery(String args) {
+        for (String word : args.split(" ")) {
+            if (filterKeyOf(word) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses find arguments into a query.
+     *
+     * @param args Arguments following the {@code find} command.
+     * @return The parsed query.
+     * @throws OrbitException If a filter has a missing or invalid value, or the dates leave an empty range.
+     */
+    public static TaskQuery parse(String args) throws OrbitException {
+        TaskQuery query = new TaskQuery();
+        for (String word : args.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String key = filterKeyOf(word);
+            if (key == null) {
+                query.addText(word);
+                continue;
+            }
+            String value = word.substring(key.length());
+            if (value.isEmpty()) {
+                throw new OrbitException("Missing value for filter \"" + key + "\". Example: type:deadline");
+            }
+            applyFilter(query, key, value);
+        }
+        if (query.hasEmptyDateRange()) {
+            throw new OrbitException("No day is both after and before the given dates. "
+                    + "Example: after:2026-01-01 before:2026-12-01");
+        }
+        return query;
+    }
+
+    private static String filterKeyOf(String word) {
+        String lower = word.toLowerCase();
+        for (String key : FILTER_KEYS) {
+            if (lower.startsWith(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static void applyFilter(TaskQuery query, String key, String value) throws OrbitException {
+        switch (key) {
+        case "type:":
+            query.setType(parseType(value));
+            break;
+        case "done:":
+            query.setDone(parseDone(value));
+            break;
+        case "before:":
+            query.setBefore(parseDate(value).atStartOfDay());
+            break;
+        case "after:":
+            query.setAfter(parseDate(value).plusDays(1).atStartOfDay());
+            break;
+        default:
+            query.addText(value);
+        }
+    }
+
+    private static TaskType parseType(String value) throws OrbitException {
+        try {
+            return TaskType.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new OrbitException("Invalid type \"" + value + "\". Use: todo, deadline or event.");
+        }
+    }
+
+    private static boolean parseDone(String value) throws OrbitException {
+        switch (value.toLowerCase()) {
+        case "yes":
+            return true;
+        case "no":
+            return false;
+        default:
+            throw new OrbitException("Invalid done filter \"" + value + "\". Use: done:yes or done:no.");
+        }
+    }
+
+    private static LocalDate parseDate(String value) throws OrbitException {
+        try {
+            return LocalDate.parse(value, INPUT_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new OrbitException("Invalid date \"" + value + "\". Use: YYYY-MM-DD (e.g., 2026-12-01)");
+        }
+    }
+}
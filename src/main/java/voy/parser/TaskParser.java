@@ -1,28 +1,39 @@
 package voy.parser;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
 
 import voy.exception.OrbitException;
 import voy.task.Deadline;
 import voy.task.Event;
+import voy.task.Frequency;
+import voy.task.RecurringEvent;
 import voy.task.ToDo;
 
 /**
  * Parses task-related arguments (e.g., todo/deadline/event) into task objects.
  */
 public class TaskParser {
+    /** Marks a task ID, as opposed to a task number, e.g. {@code delete #12}. */
+    public static final String TASK_ID_PREFIX = "#";
 
     private static final String DEADLINE_SEPARATOR = " /by ";
     private static final String EVENT_FROM_SEPARATOR = " /from ";
     private static final String EVENT_TO_SEPARATOR = " /to ";
+    private static final String EVENT_EVERY_SEPARATOR = " /every ";
+    private static final String EVENT_UNTIL_SEPARATOR = " /until ";
 
     private static final DateTimeFormatter INPUT_DATE_TIME_FORMAT =
             DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm")
                     .withResolverStyle(ResolverStyle.STRICT);
-
+    private static final DateTimeFormatter INPUT_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd")
+                    .withResolverStyle(ResolverStyle.STRICT);
 
     private TaskParser() {
         // Utility class: prevent instantiation.
@@ -61,6 +72,57 @@ public class TaskParser {
         }
     }
 
+    /**
+     * Parses a comma-separated list of task numbers and ranges, e.g. {@code 1-200,305}.
+     * <p>
+     * Ranges are checked but not expanded, so a long range costs no more to parse than a single number.
+     *
+     * @param args the input string containing the task numbers
+     * @return zero-based inclusive ranges, one {@code {first, last}} pair per list item, in input order
+     * @throws OrbitException if an item is not a positive number or a range of them in increasing order
+     */
+    public static List<int[]> parseTaskRanges(String args) throws OrbitException {
+        if (args == null || args.isBlank()) {
+            throw new OrbitException("Missing task numbers. Example: mark 1-3,5");
+        }
+        List<int[]> ranges = new ArrayList<>();
+        for (String item : args.replace(" ", "").split(",", -1)) {
+            String[] bounds = item.split("-", -1);
+            if (bounds.length > 2) {
+                throw new OrbitException("Invalid task range: " + item + ". Example: mark 1-3,5");
+            }
+            int first = parseTaskIndex(bounds[0]);
+            int last = bounds.length == 2 ? parseTaskIndex(bounds[1]) : first;
+            if (last < first) {
+                throw new OrbitException("Task range must go from the lower number to the higher: " + item);
+            }
+            ranges.add(new int[] { first, last });
+        }
+        return ranges;
+    }
+
+    /**
+     * Parses a task ID, written with a leading {@code #}, from user input.
+     *
+     * @param args the input string containing the task ID, e.g. {@code #12}
+     * @return the task ID
+     * @throws OrbitException if the ID is missing or not a positive number
+     */
+    public static long parseTaskId(String args) throws OrbitException {
+        String trimmed = args == null ? "" : args.trim();
+        if (!trimmed.startsWith(TASK_ID_PREFIX)) {
+            throw new OrbitException("Missing task ID. Example: delete #12");
+        }
+        try {
+            long id = Long.parseLong(trimmed.substring(TASK_ID_PREFIX.length()));
+            if (id > 0) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new OrbitException("Task ID must be a positive number after #. Example: delete #12");
+    }
 
     /**
      * Parses a todo task from user input.
@@ -103,7 +165,8 @@ public class TaskParser {
      * Parses an event task from user input.
      * <p>
      * Expected format:
-     * {@code event [task name] /from [start date/time] /to [end date/time]}
+     * {@code event [task name] /from [start date/time] /to [end date/time]}, optionally followed by
+     * {@code /every [day|week|month] /until [YYYY-MM-DD]} for a {@link RecurringEvent}
      *
      * @param args the input string describing the event task
      * @return an {@link Event} task object
@@ -116,21 +179,50 @@ public class TaskParser {
         String normalized = args.trim().replaceAll("\\s+", " ");
         ensureSingleFlag(normalized, " /from ");
         ensureSingleFlag(normalized, " /to ");
+        ensureSingleFlag(normalized, EVENT_EVERY_SEPARATOR);
+        ensureSingleFlag(normalized, EVENT_UNTIL_SEPARATOR);
         String[] nameAndFrom = splitEventFrom(normalized);
         String eventName = nameAndFrom[0];
 
         String[] fromAndTo = splitEventTo(nameAndFrom[1]);
+        String[] toAndRule = fromAndTo[1].split(EVENT_EVERY_SEPARATOR, 2);
+        if (toAndRule[0].contains(EVENT_UNTIL_SEPARATOR.trim())) {
+            throw new OrbitException("/until needs a repeat rule. Use: /every week /until 2026-06-30");
+        }
         LocalDateTime startDateTime = parseDateTime(fromAndTo[0]);
-        LocalDateTime endDateTime = parseDateTime(fromAndTo[1]);
+        LocalDateTime endDateTime = parseDateTime(toAndRule[0]);
         assert startDateTime != null : "Start datetime should not be null";
         assert endDateTime != null : "End datetime should not be null";
         if (!endDateTime.isAfter(startDateTime)) {
             throw new OrbitException("Event end must be after start.");
         }
 
+        if (toAndRule.length == 2) {
+            return parseRecurringEvent(eventName, startDateTime, endDateTime, toAndRule[1]);
+        }
         return new Event(eventName, startDateTime, endDateTime);
     }
 
+    private static RecurringEvent parseRecurringEvent(String name, LocalDateTime start, LocalDateTime end,
+            String rule) throws OrbitException {
+        String[] frequencyAndUntil = rule.split(EVENT_UNTIL_SEPARATOR, 2);
+        Frequency frequency = Frequency.fromWord(frequencyAndUntil[0].trim());
+        if (frequency == null || frequencyAndUntil.length != 2) {
+            throw new OrbitException("Invalid repeat rule. Use: /every [day|week|month] /until [YYYY-MM-DD]");
+        }
+
+        LocalDate until;
+        try {
+            until = LocalDate.parse(frequencyAndUntil[1].trim(), INPUT_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new OrbitException("Invalid until date. Use: YYYY-MM-DD (e.g., 2026-06-30)");
+        }
+        if (until.isBefore(start.toLocalDate())) {
+            throw new OrbitException("Repeat must not end before the event starts.");
+        }
+        return new RecurringEvent(name, start, end, frequency, until);
+    }
+
     /**
      * Parses a date-time string into a {@link LocalDateTime} object.
      *
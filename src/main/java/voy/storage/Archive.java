@@ -0,0 +1,266 @@
+package voy.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import voy.exception.OrbitException;
+import voy.task.Task;
+
+/**
+ * Cold storage for completed tasks, kept out of the main data file.
+ * <p>
+ * Archived tasks are written as Deflater-compressed blocks of text data file lines, appended to
+ * segment files in a directory next to the data file. A segment is never rewritten; once it
+ * reaches {@link #SEGMENT_MAX_BYTES} a new one is started. Only the number of archived tasks is
+ * kept in memory. The tasks themselves are decompressed on demand.
+ * <p>
+ * Each block is {@code rawLength | compressedLength | taskCount | crc32} as four ints,
+ * followed by the compressed bytes.
+ */
+class Archive {
+    static final long SEGMENT_MAX_BYTES = 4L * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".voya";
+    private static final int BLOCK_HEADER_LENGTH = 16;
+
+    private final File directory;
+    private final Consumer<String> onWarning;
+    private File[] segments;
+    private int taskCount;
+
+    /**
+     * Constructs an Archive stored in the given directory, which is created on the first append.
+     *
+     * @param directory Directory holding the segment files.
+     * @param onWarning Receives a warning for each torn block cut off by {@link #open()}.
+     */
+    Archive(File directory, Consumer<String> onWarning) {
+        this.directory = directory;
+        this.onWarning = onWarning;
+    }
+
+    /**
+     * Reads the block headers of every segment to build the in-memory summary.
+     * A block torn by a crash during append is cut off.
+     *
+     * @throws OrbitException If a segment cannot be read.
+     */
+    void open() throws OrbitException {
+        File[] found = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        segments = found == null ? new File[0] : found;
+        Arrays.sort(segments);
+
+        taskCount = 0;
+        for (File segment : segments) {
+            taskCount += scanSegment(segment);
+        }
+    }
+
+    private int scanSegment(File segment) throws OrbitException {
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_LENGTH);
+            long position = 0;
+            int count = 0;
+            while (true) {
+                header.clear();
+                if (channel.read(header, position) < BLOCK_HEADER_LENGTH) {
+                    break;
+                }
+                header.flip();
+                header.getInt();
+                int compressedLength = header.getInt();
+                long blockEnd = position + BLOCK_HEADER_LENGTH + compressedLength;
+                if (compressedLength < 0 || blockEnd > channel.size()) {
+                    break;
+                }
+                count += header.getInt();
+                position = blockEnd;
+            }
+            if (position < channel.size()) {
+                onWarning.accept("Discarding incomplete archive block in " + segment.getName());
+                channel.truncate(position);
+            }
+            return count;
+        } catch (IOException e) {
+            throw new OrbitException("Error reading archive segment: " + segment.getPath());
+        }
+    }
+
+    /**
+     * Compresses the given tasks into one block and appends it to the current segment.
+     * The block is forced to disk before returning, so the caller may then drop the tasks
+     * from the main data file.
+     *
+     * @param tasks Tasks to archive.
+     * @throws OrbitException If the block cannot be written.
+     */
+    void append(List<Task> tasks) throws OrbitException {
+        if (segments == null) {
+            open();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Task task : tasks) {
+            sb.append(task.toFileString()).append('\n');
+        }
+        byte[] raw = sb.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(raw);
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_LENGTH)
+                .putInt(raw.length)
+                .putInt(compressed.length)
+                .putInt(tasks.size())
+                .putInt((int) crc.getValue());
+        header.flip();
+
+        File segment = currentSegment();
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer[] block = { header, ByteBuffer.wrap(compressed) };
+            long remaining = BLOCK_HEADER_LENGTH + compressed.length;
+            while (remaining > 0) {
+                remaining -= channel.write(block);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new OrbitException("Error writing archive segment: " + segment.getPath());
+        }
+        taskCount += tasks.size();
+    }
+
+    private File currentSegment() throws OrbitException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new OrbitException("Unable to create archive directory: " + directory.getPath());
+        }
+        if (segments.length > 0 && segments[segments.length - 1].length() < SEGMENT_MAX_BYTES) {
+            return segments[segments.length - 1];
+        }
+        File segment = new File(directory, String.format("%s%06d%s", SEGMENT_PREFIX, segments.length + 1,
+                SEGMENT_SUFFIX));
+        segments = Arrays.copyOf(segments, segments.length + 1);
+        segments[segments.length - 1] = segment;
+        return segment;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[Math.max(64, raw.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses every archived task, oldest block first.
+     *
+     * @return All archived tasks.
+     * @throws OrbitException If a segment cannot be read or is corrupted.
+     */
+    List<Task> readAll() throws OrbitException {
+        return read(task -> true);
+    }
+
+    /**
+     * Decompresses the archive one block at a time, keeping only matching tasks.
+     *
+     * @param filter Condition a task must satisfy to be returned.
+     * @return Matching archived tasks, oldest block first.
+     * @throws OrbitException If a segment cannot be read or is corrupted.
+     */
+    List<Task> read(Predicate<Task> filter) throws OrbitException {
+        if (segments == null) {
+            open();
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (File segment : segments) {
+            readSegment(segment, filter, tasks);
+        }
+        return tasks;
+    }
+
+    private static void readSegment(File segment, Predicate<Task> filter, List<Task> out) throws OrbitException {
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (bytes.remaining() >= BLOCK_HEADER_LENGTH) {
+                int rawLength = bytes.getInt();
+                int compressedLength = bytes.getInt();
+                bytes.getInt();
+                int expectedCrc = bytes.getInt();
+
+                ByteBuffer compressed = bytes.slice();
+                compressed.limit(compressedLength);
+                bytes.position(bytes.position() + compressedLength);
+
+                String lines = inflate(compressed, rawLength, expectedCrc, segment);
+                for (String line : lines.split("\n")) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    Task task = TextTaskFormat.parseTask(line);
+                    if (filter.test(task)) {
+                        out.add(task);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new OrbitException("Error reading archive segment: " + segment.getPath());
+        }
+    }
+
+    private static String inflate(ByteBuffer compressed, int rawLength, int expectedCrc, File segment)
+            throws OrbitException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteBuffer raw = ByteBuffer.allocate(rawLength);
+            while (raw.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(raw) == 0 && inflater.needsInput()) {
+                    break;
+                }
+            }
+            raw.flip();
+            CRC32 crc = new CRC32();
+            crc.update(raw.duplicate());
+            if (raw.remaining() != rawLength || (int) crc.getValue() != expectedCrc) {
+                throw new OrbitException("Archive segment is corrupted: " + segment.getPath());
+            }
+            return StandardCharsets.UTF_8.decode(raw).toString();
+        } catch (DataFormatException e) {
+            throw new OrbitException("Archive segment is corrupted: " + segment.getPath());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    int getTaskCount() {
+        return taskCount;
+    }
+}
@@ -0,0 +1,89 @@
+package voy.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import voy.exception.OrbitException;
+
+/**
+ * Replaces a file's contents atomically by writing a sibling temp file and renaming it over
+ * the target, so readers only ever see the old file or the complete new one.
+ */
+class AtomicFileWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private AtomicFileWriter() {
+        // Utility class: prevent instantiation.
+    }
+
+    /**
+     * Atomically replaces {@code target} with the given bytes.
+     *
+     * @param target File to replace.
+     * @param bytes New file contents.
+     * @param isForced Whether to force the data and the rename to disk before returning.
+     * @throws OrbitException If the file cannot be written or renamed.
+     */
+    static void write(File target, byte[] bytes, boolean isForced) throws OrbitException {
+        write(target, new ByteBuffer[] { ByteBuffer.wrap(bytes) }, isForced);
+    }
+
+    /**
+     * Atomically replaces {@code target} with the concatenation of the given buffers,
+     * written with a single gathering write where the platform allows it.
+     * The buffers' positions are left untouched.
+     *
+     * @param target File to replace.
+     * @param buffers New file contents, in order.
+     * @param isForced Whether to force the data and the rename to disk before returning.
+     * @throws OrbitException If the file cannot be written or renamed.
+     */
+    static void write(File target, ByteBuffer[] buffers, boolean isForced) throws OrbitException {
+        ByteBuffer[] views = new ByteBuffer[buffers.length];
+        long remaining = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            views[i] = buffers[i].duplicate();
+            remaining += views[i].remaining();
+        }
+        Path path = target.toPath();
+        Path temp = Path.of(target.getPath() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (remaining > 0) {
+                    remaining -= channel.write(views);
+                }
+                if (isForced) {
+                    channel.force(true);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (isForced) {
+                forceDirectory(path.toAbsolutePath().getParent());
+            }
+        } catch (IOException e) {
+            throw new OrbitException("Error saving tasks.");
+        }
+    }
+
+    /**
+     * Makes the rename itself durable. Not every platform allows opening a directory,
+     * so this is best effort.
+     */
+    private static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // e.g. Windows cannot open directories as channels; the rename is still atomic
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package voy.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import voy.exception.OrbitException;
+import voy.task.Deadline;
+import voy.task.Event;
+import voy.task.Frequency;
+import voy.task.RecurringEvent;
+import voy.task.Task;
+import voy.task.ToDo;
+
+/**
+ * Encodes and decodes the compact binary data file.
+ * <p>
+ * Layout (all integers big-endian):
+ * <pre>
+ * header : "VOYB" | version (1 byte) | snapshot seq (8 bytes) | next task ID (8 bytes)
+ * record : task ID (8 bytes) | flags (1 byte) | description length (4 bytes) | UTF-8 description | timestamps
+ * trailer: CRC32 of everything before it (4 bytes)
+ * </pre>
+ * The flags byte holds the task type in its low bits and the done flag in its high bit.
+ * Timestamps are minutes since the epoch: one for a deadline, start then end for an event.
+ * A recurring event adds its frequency (1 byte) and the epoch day of its last date (8 bytes).
+ * A done todo adds the time it was completed, in seconds since the epoch (8 bytes).
+ * Version 1 files, written before tasks had IDs, lack the next task ID and the record IDs; their
+ * tasks are numbered from 1 on load. Version 1 and 2 files lack completion times; their done todos
+ * count as completed when loaded.
+ */
+class BinaryTaskFormat {
+    static final int VERSION = 3;
+    static final int HEADER_LENGTH = 21;
+    static final int VERSION_WITHOUT_COMPLETION_TIMES = 2;
+    static final int VERSION_WITHOUT_IDS = 1;
+    static final int HEADER_LENGTH_WITHOUT_IDS = 13;
+
+    static final int TYPE_TODO = 0;
+    static final int TYPE_DEADLINE = 1;
+    static final int TYPE_EVENT = 2;
+    static final int TYPE_RECURRING_EVENT = 3;
+    static final int TYPE_MASK = 0x03;
+    static final int DONE_FLAG = 0x80;
+
+    private static final byte[] MAGIC = { 'V', 'O', 'Y', 'B' };
+    private static final int TRAILER_LENGTH = 4;
+
+    private BinaryTaskFormat() {
+        // Utility class: prevent instantiation.
+    }
+
+    /**
+     * Holds the result of decoding a binary data file.
+     */
+    static class Decoded {
+        final List<Task> tasks;
+        /** IDs of {@code tasks}, or null for a version 1 file. */
+        final long[] ids;
+        /** Next task ID to assign, or 0 for a version 1 file. */
+        final long nextId;
+        final long seq;
+
+        Decoded(List<Task> tasks, long[] ids, long nextId, long seq) {
+            this.tasks = tasks;
+            this.ids = ids;
+            this.nextId = nextId;
+            this.seq = seq;
+        }
+    }
+
+    /**
+     * Returns whether the given file contents start with the binary format's magic number.
+     *
+     * @param bytes Raw file contents.
+     * @return true if the contents are in binary format.
+     */
+    static boolean isBinary(byte[] bytes) {
+        if (bytes.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the given tasks into a complete binary data file.
+     *
+     * @param tasks Tasks to encode, in list order.
+     * @param nextId Next ID the list will assign.
+     * @param seq Last journal sequence number reflected in {@code tasks}.
+     * @return The encoded file contents, including the checksum trailer.
+     */
+    static byte[] encode(List<Task> tasks, long nextId, long seq) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seq);
+            out.writeLong(nextId);
+            for (Task task : tasks) {
+                writeRecord(out, task);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeRecord(DataOutputStream out, Task task) throws IOException {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        int flags = typeOf(task) | (task.isDone() ? DONE_FLAG : 0);
+
+        out.writeLong(task.getId());
+        out.writeByte(flags);
+        out.writeInt(description.length);
+        out.write(description);
+        switch (task.getTaskType()) {
+        case TODO:
+            if (task.isDone()) {
+                out.writeLong(task.getCompletedAt().toEpochSecond(ZoneOffset.UTC));
+            }
+            break;
+        case DEADLINE:
+            out.writeLong(toEpochMinutes(((Deadline) task).getDeadline()));
+            break;
+        case EVENT:
+            out.writeLong(toEpochMinutes(task.getStartDate()));
+            out.writeLong(toEpochMinutes(task.getEndDate()));
+            if (task instanceof RecurringEvent) {
+                RecurringEvent recurring = (RecurringEvent) task;
+                out.writeByte(recurring.getFrequency().ordinal());
+                out.writeLong(recurring.getUntil().toEpochDay());
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Decodes a complete binary data file.
+     *
+     * @param bytes Raw file contents, starting with the magic number.
+     * @return The decoded tasks, their IDs and the snapshot sequence number.
+     * @throws OrbitException If the file is truncated, corrupted or of an unknown version.
+     */
+    static Decoded decode(byte[] bytes) throws OrbitException {
+        if (bytes.length < HEADER_LENGTH_WITHOUT_IDS + TRAILER_LENGTH) {
+            throw new OrbitException("Save file is corrupted (truncated binary header).");
+        }
+        int bodyEnd = bytes.length - TRAILER_LENGTH;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bodyEnd);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt(bodyEnd) != (int) crc.getValue()) {
+            throw new OrbitException("Save file is corrupted (checksum mismatch).");
+        }
+
+        buffer.position(MAGIC.length);
+        int version = buffer.get();
+        if (version < VERSION_WITHOUT_IDS || version > VERSION) {
+            throw new OrbitException("Unsupported save file version: " + version);
+        }
+        boolean hasIds = version >= VERSION_WITHOUT_COMPLETION_TIMES;
+        boolean hasCompletionTimes = version == VERSION;
+        if (hasIds && bytes.length < HEADER_LENGTH + TRAILER_LENGTH) {
+            throw new OrbitException("Save file is corrupted (truncated binary header).");
+        }
+        long seq = buffer.getLong();
+        long nextId = hasIds ? buffer.getLong() : 0;
+        buffer.limit(bodyEnd);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        long[] ids = hasIds ? new long[16] : null;
+        try {
+            while (buffer.hasRemaining()) {
+                if (hasIds) {
+                    if (tasks.size() == ids.length) {
+                        ids = Arrays.copyOf(ids, ids.length * 2);
+                    }
+                    ids[tasks.size()] = buffer.getLong();
+                }
+                tasks.add(readRecord(buffer, hasCompletionTimes));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new OrbitException("Save file is corrupted (malformed binary record).");
+        }
+        return new Decoded(tasks, hasIds ? Arrays.copyOf(ids, tasks.size()) : null, nextId, seq);
+    }
+
+    private static Task readRecord(ByteBuffer buffer, boolean hasCompletionTimes) {
+        int flags = buffer.get() & 0xFF;
+        byte[] description = new byte[buffer.getInt()];
+        buffer.get(description);
+        String text = new String(description, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (flags & TYPE_MASK) {
+        case TYPE_TODO:
+            task = new ToDo(text);
+            if ((flags & DONE_FLAG) != 0 && hasCompletionTimes) {
+                task.markAsDone(LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC));
+            }
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(text, fromEpochMinutes(buffer.getLong()));
+            break;
+        case TYPE_EVENT:
+            task = new Event(text, fromEpochMinutes(buffer.getLong()), fromEpochMinutes(buffer.getLong()));
+            break;
+        case TYPE_RECURRING_EVENT:
+            LocalDateTime start = fromEpochMinutes(buffer.getLong());
+            LocalDateTime end = fromEpochMinutes(buffer.getLong());
+            Frequency frequency = Frequency.values()[buffer.get()];
+            task = new RecurringEvent(text, start, end, frequency, LocalDate.ofEpochDay(buffer.getLong()));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown task type");
+        }
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    static int typeOf(Task task) {
+        switch (task.getTaskType()) {
+        case DEADLINE:
+            return TYPE_DEADLINE;
+        case EVENT:
+            return task instanceof RecurringEvent ? TYPE_RECURRING_EVENT : TYPE_EVENT;
+        default:
+            return TYPE_TODO;
+        }
+    }
+
+    static long toEpochMinutes(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static LocalDateTime fromEpochMinutes(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,66 @@
+package voy.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import voy.task.Task;
+
+/**
+ * Encodes task lines for the text data file in fixed-size slices, in parallel.
+ * <p>
+ * Each slice becomes its own {@link ByteBuffer}, so the buffers can be handed to a single
+ * gathering write without first being copied into one large array.
+ */
+class ChunkedTextEncoder {
+    /** Number of tasks encoded per slice. */
+    static final int SLICE_SIZE = 16_384;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs an encoder that encodes slices on the given pool.
+     *
+     * @param pool Pool used to encode slices.
+     */
+    ChunkedTextEncoder(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Encodes the given tasks into one buffer per slice, in list order.
+     * The list must not be modified until this method returns.
+     *
+     * @param tasks Tasks to encode.
+     * @return Buffers holding the encoded lines, each ending with a line separator.
+     */
+    ByteBuffer[] encode(List<Task> tasks) {
+        int sliceCount = (tasks.size() + SLICE_SIZE - 1) / SLICE_SIZE;
+        if (sliceCount <= 1) {
+            return new ByteBuffer[] { encodeSlice(tasks) };
+        }
+
+        List<ForkJoinTask<ByteBuffer>> pending = new ArrayList<>(sliceCount);
+        for (int start = 0; start < tasks.size(); start += SLICE_SIZE) {
+            List<Task> slice = tasks.subList(start, Math.min(tasks.size(), start + SLICE_SIZE));
+            pending.add(pool.submit(() -> encodeSlice(slice)));
+        }
+        ByteBuffer[] buffers = new ByteBuffer[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            buffers[i] = pending.get(i).join();
+        }
+        return buffers;
+    }
+
+    private static ByteBuffer encodeSlice(List<Task> slice) {
+        String separator = System.lineSeparator();
+        StringBuilder sb = new StringBuilder(slice.size() * 32);
+        for (Task task : slice) {
+            sb.append(task.toFileString()).append(separator);
+        }
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
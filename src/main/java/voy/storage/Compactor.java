@@ -0,0 +1,85 @@
+package voy.storage;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import voy.exception.OrbitException;
+
+/**
+ * Folds the journal back into a fresh snapshot on a background thread.
+ * <p>
+ * At most one compaction runs at a time; requests made while one is in flight are dropped,
+ * since the running compaction already bounds the journal.
+ */
+class Compactor {
+    private final Storage storage;
+    private final AtomicBoolean isRunning = new AtomicBoolean(false);
+    private ExecutorService executor;
+    private Future<?> pending;
+
+    /**
+     * Constructs a Compactor that writes snapshots through the given storage.
+     *
+     * @param storage Storage owning the data file and journal.
+     */
+    Compactor(Storage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Returns whether a compaction is currently in flight.
+     *
+     * @return true if a compaction has been submitted and not yet finished.
+     */
+    boolean isRunning() {
+        return isRunning.get();
+    }
+
+    /**
+     * Schedules writing the given snapshot and trimming the journal records it covers.
+     *
+     * @param snapshot Data file encoded on the caller's thread.
+     */
+    synchronized void submit(Snapshot snapshot) {
+        if (!isRunning.compareAndSet(false, true)) {
+            return;
+        }
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "voy-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        pending = executor.submit(() -> {
+            try {
+                storage.commitSnapshot(snapshot);
+            } catch (OrbitException e) {
+                // the journal is left intact, so nothing is lost; the next trigger retries
+                storage.warn("Background compaction failed: " + e.getMessage());
+            } finally {
+                isRunning.set(false);
+            }
+        });
+    }
+
+    /**
+     * Blocks until the in-flight compaction, if any, has finished.
+     */
+    void await() {
+        Future<?> current;
+        synchronized (this) {
+            current = pending;
+        }
+        if (current == null) {
+            return;
+        }
+        try {
+            current.get();
+        } catch (Exception e) {
+            // failures are already reported by the compaction task itself
+        }
+    }
+}
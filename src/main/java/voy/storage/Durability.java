@@ -0,0 +1,16 @@
+package voy.storage;
+
+/**
+ * Represents how hard {@link Storage} works to make a write survive a crash or power loss.
+ */
+public enum Durability {
+    /** Leaves flushing to the operating system; fastest, but recent writes may be lost. */
+    NONE,
+    /** Forces every snapshot and journal record to disk before the command returns. */
+    FSYNC_ON_COMMIT,
+    /**
+     * Forces snapshots immediately, but batches journal records and forces them together
+     * on a short interval, bounding the loss window instead of paying one fsync per command.
+     */
+    GROUP_COMMIT
+}
@@ -0,0 +1,259 @@
+package voy.storage;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import voy.exception.OrbitException;
+
+/**
+ * Append-only log of task mutations stored next to the main data file.
+ * <p>
+ * Each line records a single mutation prefixed by a monotonic sequence number, for example:
+ * <ul>
+ *     <li>{@code 1 | ADD | T | 0 | read book}</li>
+ *     <li>{@code 2 | MARK | 2}</li>
+ *     <li>{@code 3 | UNMARK | 2}</li>
+ *     <li>{@code 4 | DELETE | 0}</li>
+ * </ul>
+ * Indices are 0-based positions in the task list at the time of the mutation.
+ * A snapshot records the last sequence number it contains, so records at or below
+ * it are skipped on replay.
+ */
+class Journal {
+    static final String OP_ADD = "ADD";
+    static final String OP_MARK = "MARK";
+    static final String OP_UNMARK = "UNMARK";
+    static final String OP_DELETE = "DELETE";
+
+    static final String SEPARATOR = " | ";
+    static final String SEPARATOR_REGEX = " \\| ";
+
+    private static final int IDX_SEQ = 0;
+    private static final int IDX_OP = 1;
+    private static final int IDX_PAYLOAD = 2;
+
+    private final File file;
+    private Durability durability = Durability.FSYNC_ON_COMMIT;
+    private FileChannel channel;
+    private boolean hasUnsyncedRecords;
+    private long lastSeq;
+    private int recordCount;
+    private long byteSize;
+
+    /**
+     * Constructs a Journal backed by the given file.
+     *
+     * @param file Journal file.
+     */
+    Journal(File file) {
+        this.file = file;
+    }
+
+    synchronized void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    /**
+     * Appends a single mutation record to the end of the journal.
+     *
+     * @param op Mutation type.
+     * @param payload Task file string for {@code ADD}, or the 0-based index otherwise.
+     * @return Sequence number assigned to the record.
+     * @throws OrbitException If the record cannot be written.
+     */
+    synchronized long append(String op, String payload) throws OrbitException {
+        long seq = lastSeq + 1;
+        byte[] record = (seq + SEPARATOR + op + SEPARATOR + payload + System.lineSeparator())
+                .getBytes(StandardCharsets.UTF_8);
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (durability == Durability.FSYNC_ON_COMMIT) {
+                channel.force(false);
+            } else if (durability == Durability.GROUP_COMMIT) {
+                hasUnsyncedRecords = true;
+            }
+        } catch (IOException e) {
+            throw new OrbitException("Error writing to journal.");
+        }
+        lastSeq = seq;
+        recordCount++;
+        byteSize += record.length;
+        return seq;
+    }
+
+    /**
+     * Forces records written since the last sync to disk. Used by group commit.
+     *
+     * @throws OrbitException If the journal cannot be forced.
+     */
+    synchronized void sync() throws OrbitException {
+        if (!hasUnsyncedRecords || channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new OrbitException("Error syncing journal.");
+        }
+        hasUnsyncedRecords = false;
+    }
+
+    /**
+     * Reads all records currently in the journal and resynchronises the in-memory
+     * counters with the file.
+     *
+     * @param baseSeq Last sequence number already contained in the snapshot.
+     * @return Raw journal lines in the order they were appended.
+     * @throws OrbitException If the journal cannot be read.
+     */
+    synchronized ArrayList<String> readRecords(long baseSeq) throws OrbitException {
+        ArrayList<String> records = readLines();
+        lastSeq = baseSeq;
+        for (String record : records) {
+            try {
+                lastSeq = Math.max(lastSeq, parseSeq(record));
+            } catch (NumberFormatException e) {
+                // corrupted records are reported by the caller during replay
+            }
+        }
+        recordCount = records.size();
+        byteSize = file.length();
+        return records;
+    }
+
+    /**
+     * Removes every record with a sequence number at or below {@code seq},
+     * keeping records appended while a snapshot was being written.
+     *
+     * @param seq Last sequence number contained in the latest snapshot.
+     * @throws OrbitException If the journal cannot be rewritten.
+     */
+    synchronized void dropThrough(long seq) throws OrbitException {
+        if (seq >= lastSeq) {
+            clear();
+            return;
+        }
+        StringBuilder kept = new StringBuilder();
+        int keptCount = 0;
+        for (String record : readLines()) {
+            try {
+                if (parseSeq(record) <= seq) {
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            kept.append(record).append(System.lineSeparator());
+            keptCount++;
+        }
+        byte[] bytes = kept.toString().getBytes(StandardCharsets.UTF_8);
+        closeChannel();
+        AtomicFileWriter.write(file, bytes, durability != Durability.NONE);
+        recordCount = keptCount;
+        byteSize = bytes.length;
+    }
+
+    /**
+     * Discards all records, typically after a full snapshot has been written.
+     *
+     * @throws OrbitException If the journal cannot be cleared.
+     */
+    synchronized void clear() throws OrbitException {
+        closeChannel();
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            throw new OrbitException("Error clearing journal.");
+        }
+        recordCount = 0;
+        byteSize = 0;
+    }
+
+    synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    synchronized long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Splits a raw record into its sequence number, operation and payload.
+     *
+     * @param record Raw journal line.
+     * @return A three-element array: [seq, op, payload].
+     */
+    static String[] split(String record) {
+        String[] parts = record.split(SEPARATOR_REGEX, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed journal record");
+        }
+        return parts;
+    }
+
+    static long seqOf(String[] parts) {
+        return Long.parseLong(parts[IDX_SEQ]);
+    }
+
+    static String opOf(String[] parts) {
+        return parts[IDX_OP];
+    }
+
+    static String payloadOf(String[] parts) {
+        return parts[IDX_PAYLOAD];
+    }
+
+    private static long parseSeq(String record) {
+        int end = record.indexOf(SEPARATOR);
+        return Long.parseLong(end < 0 ? record : record.substring(0, end));
+    }
+
+    private void closeChannel() throws OrbitException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new OrbitException("Error closing journal.");
+        } finally {
+            channel = null;
+            hasUnsyncedRecords = false;
+        }
+    }
+
+    private ArrayList<String> readLines() throws OrbitException {
+        ArrayList<String> records = new ArrayList<>();
+        if (!file.exists()) {
+            return records;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                records.add(line);
+            }
+        } catch (IOException e) {
+            throw new OrbitException("Error reading journal.");
+        }
+        return records;
+    }
+}
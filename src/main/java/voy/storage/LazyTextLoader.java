@@ -0,0 +1,210 @@
+package voy.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import voy.exception.OrbitException;
+import voy.task.Deadline;
+import voy.task.DescriptionSource;
+import voy.task.Event;
+import voy.task.Frequency;
+import voy.task.RecurringEvent;
+import voy.task.Task;
+import voy.task.TaskList;
+import voy.task.ToDo;
+
+/**
+ * Loads a text data file without decoding task descriptions.
+ * <p>
+ * The file is memory-mapped and each line is scanned for its type, done flag and dates only.
+ * Tasks keep the position and length of their description in the mapping, and
+ * {@link Task#getDescription()} decodes it on demand, keeping the most recently used
+ * descriptions in a bounded LRU cache. The mapping stays valid after the data file is
+ * replaced by a later save, because the replaced file lives on until it is unmapped.
+ * <p>
+ * Windows refuses to replace a file while it is mapped, which would make every later save fail,
+ * so the loader is not used there; see {@link #isSupported()}.
+ */
+class LazyTextLoader implements DescriptionSource {
+    /** Description keys hold the length in the high half and the mapped position in the low half. */
+    private static final int OFFSET_BITS = Integer.SIZE;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final byte[] DELIMITER = " | ".getBytes(StandardCharsets.US_ASCII);
+    /** Offset of the description within a task line, after {@code "T | 0 | "}. */
+    private static final int DESCRIPTION_OFFSET = 8;
+    private static final boolean IS_MAPPING_LOCKED = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Map<Long, String> cache;
+    private final Consumer<String> onWarning;
+    private MappedByteBuffer buffer;
+
+    /**
+     * Constructs a loader whose tasks share a cache of the given number of descriptions.
+     *
+     * @param cacheSize Maximum number of decoded descriptions kept in memory.
+     * @param onWarning Receives a warning for each corrupted line skipped.
+     */
+    LazyTextLoader(int cacheSize, Consumer<String> onWarning) {
+        this.onWarning = onWarning;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns whether the data file can stay mapped on this system while later saves replace it.
+     *
+     * @return false on Windows, where a mapped file cannot be replaced.
+     */
+    static boolean isSupported() {
+        return !IS_MAPPING_LOCKED;
+    }
+
+    /**
+     * Reads the given text data file into the task list, leaving descriptions in the file.
+     *
+     * @param file Text data file, at most 2 GiB.
+     * @param taskList Task list to append tasks to.
+     * @return The journal sequence number recorded in the snapshot header, or 0 if absent.
+     * @throws OrbitException If the file cannot be mapped or fails its checksum.
+     */
+    long load(File file, TaskList taskList) throws OrbitException {
+        if (file.length() > Integer.MAX_VALUE) {
+            throw new OrbitException("Save file is too large to load: " + file.getPath());
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new OrbitException("Error reading save file.");
+        }
+        int contentLength = TextTaskFormat.verifyChecksum(buffer, file.getPath());
+
+        long baseSeq = 0;
+        TaskIds ids = new TaskIds();
+        int lineStart = 0;
+        while (lineStart < contentLength) {
+            int lineEnd = lineStart;
+            while (lineEnd < contentLength && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (lineEnd > lineStart) {
+                if (buffer.get(lineStart) == TextTaskFormat.METADATA_PREFIX.charAt(0)) {
+                    String line = decode(lineStart, lineEnd);
+                    if (line.startsWith(TextTaskFormat.SNAPSHOT_SEQ_PREFIX)) {
+                        baseSeq = TextTaskFormat.parseSnapshotSeq(line);
+                    } else {
+                        ids.readHeader(line, taskList);
+                    }
+                } else {
+                    addTask(lineStart, lineEnd, taskList, ids);
+                }
+            }
+            lineStart = next;
+        }
+        ids.finish(taskList);
+        return baseSeq;
+    }
+
+    private void addTask(int start, int end, TaskList taskList, TaskIds ids) {
+        try {
+            ids.add(parseTask(start, end), taskList);
+        } catch (RuntimeException e) {
+            onWarning.accept("Skipping corrupted line: " + decode(start, end));
+        }
+    }
+
+    private Task parseTask(int start, int end) {
+        int descriptionStart = start + DESCRIPTION_OFFSET;
+        boolean isDone = buffer.get(start + TextTaskFormat.DONE_FLAG_OFFSET) == '1';
+        if (descriptionStart > end) {
+            throw new IllegalArgumentException("Task line too short");
+        }
+
+        Task task;
+        int descriptionEnd;
+        switch (buffer.get(start)) {
+        case 'T':
+            descriptionEnd = end;
+            task = new ToDo(null);
+            break;
+        case 'D':
+            descriptionEnd = lastDelimiter(descriptionStart, end);
+            task = new Deadline(null, parseDate(descriptionEnd, end));
+            break;
+        case 'E':
+            int toDelimiter = lastDelimiter(descriptionStart, end);
+            descriptionEnd = lastDelimiter(descriptionStart, toDelimiter);
+            task = new Event(null, parseDate(descriptionEnd, toDelimiter), parseDate(toDelimiter, end));
+            break;
+        case 'R':
+            int untilDelimiter = lastDelimiter(descriptionStart, end);
+            int frequencyDelimiter = lastDelimiter(descriptionStart, untilDelimiter);
+            int endDelimiter = lastDelimiter(descriptionStart, frequencyDelimiter);
+            descriptionEnd = lastDelimiter(descriptionStart, endDelimiter);
+            task = new RecurringEvent(null, parseDate(descriptionEnd, endDelimiter),
+                    parseDate(endDelimiter, frequencyDelimiter),
+                    Frequency.valueOf(decode(frequencyDelimiter + DELIMITER.length, untilDelimiter)),
+                    LocalDate.parse(decode(untilDelimiter + DELIMITER.length, end)));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown task type");
+        }
+
+        if (isDone) {
+            task.markAsDone();
+        }
+        long length = descriptionEnd - descriptionStart;
+        task.setDescriptionSource(this, (length << OFFSET_BITS) | descriptionStart);
+        return task;
+    }
+
+    /**
+     * Returns the position of the last {@code " | "} delimiter in {@code [from, to)}.
+     */
+    private int lastDelimiter(int from, int to) {
+        for (int i = to - DELIMITER.length; i >= from; i--) {
+            if (buffer.get(i) == DELIMITER[0] && buffer.get(i + 1) == DELIMITER[1]
+                    && buffer.get(i + 2) == DELIMITER[2]) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Missing delimiter");
+    }
+
+    private LocalDateTime parseDate(int delimiter, int end) {
+        return LocalDateTime.parse(decode(delimiter + DELIMITER.length, end));
+    }
+
+    private String decode(int start, int end) {
+        return StandardCharsets.UTF_8.decode(buffer.slice(start, end - start)).toString();
+    }
+
+    @Override
+    public synchronized String load(long key) {
+        String description = cache.get(key);
+        if (description == null) {
+            int start = (int) (key & OFFSET_MASK);
+            int length = (int) (key >>> OFFSET_BITS);
+            description = decode(start, start + length);
+            cache.put(key, description);
+        }
+        return description;
+    }
+}
@@ -0,0 +1,154 @@
+package voy.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import voy.exception.OrbitException;
+import voy.task.Task;
+import voy.task.TaskList;
+
+/**
+ * Loads large text data files by reading them into memory in one go and parsing
+ * newline-aligned chunks in parallel.
+ * <p>
+ * The file is read rather than memory-mapped: on Windows a mapped file cannot be replaced
+ * until the mapping is garbage-collected, which would make the next save fail.
+ * <p>
+ * Each chunk is decoded and parsed independently on a {@link ForkJoinPool}; the parsed
+ * chunks are then appended to the task list in file order, so 1-based task numbers are
+ * the same as with a sequential load.
+ */
+class ParallelTextLoader {
+    /** Smallest chunk worth handing to another thread. */
+    private static final int MIN_CHUNK_BYTES = 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final Consumer<String> onWarning;
+
+    /**
+     * Constructs a loader that parses chunks on the given pool.
+     *
+     * @param pool Pool used to parse chunks.
+     * @param onWarning Receives a warning for each corrupted line skipped, in file order.
+     */
+    ParallelTextLoader(ForkJoinPool pool, Consumer<String> onWarning) {
+        this.pool = pool;
+        this.onWarning = onWarning;
+    }
+
+    /**
+     * Holds the tasks parsed from one chunk, and the header lines if the chunk contained them.
+     */
+    private static class Chunk {
+        final ArrayList<Task> tasks = new ArrayList<>();
+        final List<String> metadata = new ArrayList<>();
+        final List<String> skipped = new ArrayList<>();
+        long seq = -1;
+    }
+
+    /**
+     * Reads the given text data file into the task list.
+     *
+     * @param file Text data file, at most 2 GiB.
+     * @param taskList Task list to append parsed tasks to.
+     * @return The journal sequence number recorded in the snapshot header, or 0 if absent.
+     * @throws OrbitException If the file cannot be read or fails its checksum.
+     */
+    long load(File file, TaskList taskList) throws OrbitException {
+        ByteBuffer buffer;
+        try {
+            if (file.length() > Integer.MAX_VALUE) {
+                throw new OrbitException("Save file is too large to load: " + file.getPath());
+            }
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            throw new OrbitException("Error reading save file.");
+        }
+        int contentLength = TextTaskFormat.verifyChecksum(buffer, file.getPath());
+
+        List<ForkJoinTask<Chunk>> pending = new ArrayList<>();
+        for (int[] bounds : splitAtNewlines(buffer, contentLength)) {
+            pending.add(pool.submit(() -> parseChunk(buffer, bounds[0], bounds[1])));
+        }
+
+        long baseSeq = 0;
+        TaskIds ids = new TaskIds();
+        for (ForkJoinTask<Chunk> task : pending) {
+            Chunk chunk;
+            try {
+                chunk = task.join();
+            } catch (RuntimeException e) {
+                throw new OrbitException("Error reading save file.");
+            }
+            if (chunk.seq >= 0) {
+                baseSeq = chunk.seq;
+            }
+            // header lines precede every task line, so they are applied before the chunk's tasks
+            for (String line : chunk.metadata) {
+                ids.readHeader(line, taskList);
+            }
+            for (Task parsed : chunk.tasks) {
+                ids.add(parsed, taskList);
+            }
+            for (String line : chunk.skipped) {
+                onWarning.accept("Skipping corrupted line: " + line);
+            }
+        }
+        ids.finish(taskList);
+        return baseSeq;
+    }
+
+    /**
+     * Divides {@code [0, length)} into roughly equal ranges that each end just after a newline,
+     * so no line (and no multi-byte character) straddles two chunks.
+     */
+    private List<int[]> splitAtNewlines(ByteBuffer buffer, int length) {
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD,
+                length / MIN_CHUNK_BYTES));
+        int targetSize = length / chunkCount;
+
+        List<int[]> bounds = new ArrayList<>();
+        int start = 0;
+        while (start < length) {
+            int end = Math.min(length, start + Math.max(targetSize, 1));
+            while (end < length && buffer.get(end - 1) != '\n') {
+                end++;
+            }
+            bounds.add(new int[] { start, end });
+            start = end;
+        }
+        return bounds;
+    }
+
+    private static Chunk parseChunk(ByteBuffer buffer, int start, int end) throws OrbitException {
+        String text = StandardCharsets.UTF_8.decode(buffer.slice(start, end - start)).toString();
+
+        Chunk chunk = new Chunk();
+        for (String line : text.split("\\R")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith(TextTaskFormat.SNAPSHOT_SEQ_PREFIX)) {
+                chunk.seq = TextTaskFormat.parseSnapshotSeq(line);
+            } else if (line.startsWith(TextTaskFormat.METADATA_PREFIX)) {
+                chunk.metadata.add(line);
+            } else {
+                try {
+                    chunk.tasks.add(TextTaskFormat.parseTask(line));
+                } catch (Exception e) {
+                    chunk.skipped.add(line);
+                }
+            }
+        }
+        return chunk;
+    }
+}
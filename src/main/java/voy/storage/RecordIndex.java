@@ -0,0 +1,147 @@
+package voy.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import voy.exception.OrbitException;
+
+/**
+ * In-memory table of where each task's line starts in the text data file,
+ * indexed by the task's 0-based position in the list.
+ * <p>
+ * Every text record starts with {@code <type> | <done> | }, so the done flag of the task at
+ * position {@code i} is the single byte at {@code offsetOf(i) + TextTaskFormat.DONE_FLAG_OFFSET}.
+ */
+class RecordIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte[] CHECKSUM_PREFIX = TextTaskFormat.CHECKSUM_PREFIX.getBytes(StandardCharsets.UTF_8);
+
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private int size;
+    private long trailerOffset = -1;
+
+    /**
+     * Builds the index by scanning a text data file for the start of every task line.
+     * The file is read into memory rather than mapped, since a mapped file cannot be replaced
+     * on Windows while the mapping is alive.
+     *
+     * @param file Text data file.
+     * @return Index with one offset per task line, in file order.
+     * @throws OrbitException If the file cannot be read.
+     */
+    static RecordIndex scan(File file) throws OrbitException {
+        try {
+            if (file.length() > Integer.MAX_VALUE) {
+                throw new OrbitException("Save file is too large to index: " + file.getPath());
+            }
+            return scan(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+        } catch (IOException e) {
+            throw new OrbitException("Error reading save file.");
+        }
+    }
+
+    /**
+     * Builds the index by scanning text data file contents for the start of every task line.
+     *
+     * @param bytes Contents of a text data file, from position 0 to its limit.
+     * @return Index with one offset per task line, in file order.
+     */
+    static RecordIndex scan(ByteBuffer bytes) {
+        return scan(new ByteBuffer[] { bytes });
+    }
+
+    /**
+     * Builds the index by scanning text data file contents split across buffers, none of
+     * which splits a line. Metadata lines (header and checksum trailer) and blank lines are skipped.
+     *
+     * @param buffers Consecutive parts of a text data file, each from its position to its limit.
+     * @return Index with one offset per task line, in file order.
+     */
+    static RecordIndex scan(ByteBuffer[] buffers) {
+        RecordIndex index = new RecordIndex();
+        long base = 0;
+        for (ByteBuffer buffer : buffers) {
+            ByteBuffer bytes = buffer.slice();
+            index.scanInto(bytes, base);
+            base += bytes.limit();
+        }
+        return index;
+    }
+
+    private void scanInto(ByteBuffer bytes, long base) {
+        int length = bytes.limit();
+        int lineStart = 0;
+        while (lineStart < length) {
+            byte first = bytes.get(lineStart);
+            if (isChecksumLine(bytes, lineStart)) {
+                trailerOffset = base + lineStart;
+            } else if (first != '#' && first != '\n' && first != '\r') {
+                add(base + lineStart);
+            }
+            int next = lineStart;
+            while (next < length && bytes.get(next) != '\n') {
+                next++;
+            }
+            lineStart = next + 1;
+        }
+    }
+
+    private static boolean isChecksumLine(ByteBuffer bytes, int lineStart) {
+        if (lineStart + CHECKSUM_PREFIX.length > bytes.limit()) {
+            return false;
+        }
+        for (int i = 0; i < CHECKSUM_PREFIX.length; i++) {
+            if (bytes.get(lineStart + i) != CHECKSUM_PREFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the offset of a newly written task line.
+     *
+     * @param offset Byte offset of the line start.
+     */
+    void add(long offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = offset;
+    }
+
+    /**
+     * Returns the byte offset of the line of the task at the given position.
+     *
+     * @param index 0-based task position.
+     * @return Byte offset of the line start.
+     */
+    long offsetOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No record at index " + index);
+        }
+        return offsets[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns where the checksum trailer starts, or -1 if the file has none.
+     * Patching a record in place invalidates the trailer, so it is cut off first.
+     *
+     * @return Byte offset of the trailer line, or -1.
+     */
+    long getTrailerOffset() {
+        return trailerOffset;
+    }
+
+    void clearTrailer() {
+        trailerOffset = -1;
+    }
+}
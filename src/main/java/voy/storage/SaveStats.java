@@ -0,0 +1,50 @@
+package voy.storage;
+
+/**
+ * Reports where the time of the most recent full save went.
+ */
+public class SaveStats {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int taskCount;
+    private final long byteCount;
+    private final long encodeNanos;
+    private final long writeNanos;
+
+    /**
+     * Constructs a SaveStats record.
+     *
+     * @param taskCount Number of tasks saved.
+     * @param byteCount Size of the data file written, in bytes.
+     * @param encodeNanos Time spent encoding tasks into buffers.
+     * @param writeNanos Time spent writing, forcing and renaming the file.
+     */
+    SaveStats(int taskCount, long byteCount, long encodeNanos, long writeNanos) {
+        this.taskCount = taskCount;
+        this.byteCount = byteCount;
+        this.encodeNanos = encodeNanos;
+        this.writeNanos = writeNanos;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Saved %d tasks (%d bytes): encode %.1f ms, write %.1f ms",
+                taskCount, byteCount, encodeNanos / NANOS_PER_MILLI, writeNanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,32 @@
+package voy.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An encoded data file waiting to be written, together with what it covers.
+ */
+class Snapshot {
+    final ByteBuffer[] buffers;
+    final int taskCount;
+    /** Last journal sequence number reflected in the snapshot. */
+    final long seq;
+    /** Monotonic version used to discard snapshots committed out of order. */
+    final long version;
+    final long encodeNanos;
+
+    Snapshot(ByteBuffer[] buffers, int taskCount, long seq, long version, long encodeNanos) {
+        this.buffers = buffers;
+        this.taskCount = taskCount;
+        this.seq = seq;
+        this.version = version;
+        this.encodeNanos = encodeNanos;
+    }
+
+    long byteCount() {
+        long count = 0;
+        for (ByteBuffer buffer : buffers) {
+            count += buffer.remaining();
+        }
+        return count;
+    }
+}
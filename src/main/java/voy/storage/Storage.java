@@ -1,38 +1,74 @@
 package voy.storage;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
 
 import voy.exception.OrbitException;
+import voy.task.ConcurrentTaskList;
 import voy.task.Deadline;
-import voy.task.Event;
+import voy.task.RecurringEvent;
 import voy.task.Task;
 import voy.task.TaskList;
-import voy.task.ToDo;
 
 
 /**
  * Handles loading and saving of task data to persistent storage.
  */
 public class Storage {
-    private static final String DELIMITER_REGEX = " \\| ";
-    private static final String TODO_TYPE = "T";
-    private static final String DEADLINE_TYPE = "D";
-    private static final String EVENT_TYPE = "E";
-
-    private static final int IDX_TYPE = 0;
-    private static final int IDX_DONE = 1;
-    private static final int IDX_DESCRIPTION = 2;
-    private static final int IDX_DEADLINE = 3;
-    private static final int IDX_EVENT_FROM = 3;
-    private static final int IDX_EVENT_TO = 4;
+    /** System property that enables archiving after the given number of days. */
+    public static final String ARCHIVE_AFTER_DAYS_PROPERTY = "voy.archiveAfterDays";
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String ARCHIVE_SUFFIX = ".archive";
+
+    private static final int DEFAULT_COMPACT_RECORDS = 1000;
+    private static final long DEFAULT_COMPACT_BYTES = 1024 * 1024;
+    private static final long GROUP_COMMIT_INTERVAL_MILLIS = 50;
+    private static final long DEFAULT_PARALLEL_LOAD_BYTES = 8 * 1024 * 1024;
+    private static final int MAGIC_LENGTH = 4;
 
     private final File file;
+    private final Journal journal;
+    private final Compactor compactor;
+    private final Object snapshotLock = new Object();
+    private final AtomicLong snapshotVersion = new AtomicLong();
+
+    private int compactRecordThreshold = DEFAULT_COMPACT_RECORDS;
+    private long compactByteThreshold = DEFAULT_COMPACT_BYTES;
+    private Durability durability = Durability.FSYNC_ON_COMMIT;
+    private StorageFormat format = StorageFormat.TEXT;
+    private long parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_BYTES;
+    private ScheduledExecutorService groupCommitter;
+    /** Failure of the last group commit, reported by the next save or flush, or null. */
+    private volatile OrbitException groupCommitFailure;
+    /** Version of the snapshot currently on disk; guarded by snapshotLock. */
+    private long writtenVersion;
+    private WriteBehindSaver writeBehind;
+    private boolean isInPlace;
+    /** Line offsets of the text data file, or null until next needed; guarded by snapshotLock. */
+    private RecordIndex recordIndex;
+    private SaveStats lastSaveStats;
+    private final Archive archive;
+    private Duration archiveAge;
+    private int lazyDescriptionCache;
+    /** Problems found while loading or saving that the caller has not taken yet; guarded by itself. */
+    private final List<String> warnings = new ArrayList<>();
 
     /**
      * Constructs a Storage object using the specified file path.
@@ -40,9 +76,255 @@ public class Storage {
      * @param filePath Path to the data file.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a Storage object using the specified file path.
+     * <p>
+     * In journaled mode, each mutation is appended as a small record to a
+     * {@code .journal} file next to the data file instead of rewriting the whole file.
+     * The journal is replayed on {@link #load()} and folded back into the data file
+     * on the next full {@link #save(TaskList)}, or by a background compaction once it
+     * grows past the thresholds set in {@link #setCompactionThresholds(int, long)}.
+     *
+     * @param filePath Path to the data file.
+     * @param isJournaled Whether mutations are appended to a journal.
+     */
+    public Storage(String filePath, boolean isJournaled) {
         assert filePath != null : "Storage file path must not be null";
         assert !filePath.isBlank() : "Storage file path must not be blank";
         this.file = new File(filePath);
+        this.journal = isJournaled ? new Journal(new File(filePath + JOURNAL_SUFFIX)) : null;
+        this.compactor = isJournaled ? new Compactor(this) : null;
+        this.archive = new Archive(new File(filePath + ARCHIVE_SUFFIX), this::warn);
+    }
+
+    /**
+     * Records a problem the user should hear about that did not stop loading or saving, such as
+     * a corrupted line that was skipped.
+     *
+     * @param warning Description of the problem.
+     */
+    void warn(String warning) {
+        synchronized (warnings) {
+            warnings.add(warning);
+        }
+    }
+
+    /**
+     * Returns the warnings recorded since the last call, oldest first, such as corrupted lines
+     * skipped by {@link #load()} or a failed background compaction, and forgets them.
+     *
+     * @return Warnings to show the user, possibly none.
+     */
+    public List<String> takeWarnings() {
+        synchronized (warnings) {
+            List<String> taken = new ArrayList<>(warnings);
+            warnings.clear();
+            return taken;
+        }
+    }
+
+    /**
+     * Returns whether this storage appends mutations to a journal.
+     *
+     * @return true if journaled mode is enabled.
+     */
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    /**
+     * Sets how large the journal may grow before it is compacted in the background.
+     * Compaction starts once either limit is reached.
+     *
+     * @param maxRecords Maximum number of journal records.
+     * @param maxBytes Maximum journal size in bytes.
+     */
+    public void setCompactionThresholds(int maxRecords, long maxBytes) {
+        assert maxRecords > 0 && maxBytes > 0 : "Compaction thresholds must be positive";
+        this.compactRecordThreshold = maxRecords;
+        this.compactByteThreshold = maxBytes;
+    }
+
+    /**
+     * Sets the durability level used for snapshots and journal records.
+     * Defaults to {@link Durability#FSYNC_ON_COMMIT}.
+     *
+     * @param durability Durability level.
+     */
+    public synchronized void setDurability(Durability durability) {
+        assert durability != null : "Durability must not be null";
+        this.durability = durability;
+        if (!isJournaled()) {
+            return;
+        }
+        journal.setDurability(durability);
+        if (durability == Durability.GROUP_COMMIT && groupCommitter == null) {
+            groupCommitter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "voy-group-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+            groupCommitter.scheduleWithFixedDelay(this::syncJournal,
+                    GROUP_COMMIT_INTERVAL_MILLIS, GROUP_COMMIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sets the encoding used when writing the data file. Defaults to {@link StorageFormat#TEXT}.
+     * Files in either format are recognised on load; selecting {@link StorageFormat#BINARY}
+     * migrates an existing text file the next time it is loaded.
+     *
+     * @param format Encoding for subsequent snapshots.
+     */
+    public void setFormat(StorageFormat format) {
+        assert format != null : "Storage format must not be null";
+        this.format = format;
+    }
+
+    /**
+     * Sets the text data file size above which {@link #load()} memory-maps the file and
+     * parses it in parallel instead of line by line.
+     *
+     * @param bytes File size in bytes.
+     */
+    public void setParallelLoadThreshold(long bytes) {
+        assert bytes >= 0 : "Parallel load threshold must not be negative";
+        this.parallelLoadThreshold = bytes;
+    }
+
+    /**
+     * Enables write-behind mode: mutations mark the task list dirty, and a background
+     * writer saves a full snapshot at most once per interval, coalescing bursts of commands
+     * into a single write. Pending changes are also written by {@link #save(TaskList)},
+     * {@link #flush()} and on JVM shutdown.
+     * <p>
+     * In journaled mode each mutation is still appended to the journal before the save method
+     * returns, so a crash before the next snapshot loses nothing; only the snapshot rewrite is
+     * deferred, and it takes the place of journal compaction.
+     * <p>
+     * The background writer reads the task list while holding its monitor, so callers must
+     * mutate the list and call the matching save method inside {@code synchronized (taskList)}.
+     * A {@link ConcurrentTaskList} that is not journaled may be mutated without the monitor.
+     *
+     * @param intervalMillis Minimum delay between background writes, in milliseconds.
+     */
+    public synchronized void setWriteBehind(long intervalMillis) {
+        assert intervalMillis > 0 : "Write-behind interval must be positive";
+        if (writeBehind == null) {
+            writeBehind = new WriteBehindSaver(this, intervalMillis);
+        }
+    }
+
+    /**
+     * Enables in-place updates: marking or unmarking a task overwrites the single done-flag
+     * byte of its record, and adding a task appends one line, instead of rewriting the file.
+     * Record positions are kept in an in-memory offset table, so both cost O(1) I/O.
+     * <p>
+     * Patching a record invalidates the checksum trailer, so the trailer is cut off on the
+     * first in-place write and restored by the next full save. Deletions and the binary format
+     * still use a full save. Write-behind mode, if enabled, takes precedence.
+     *
+     * @param isEnabled Whether to update records in place.
+     */
+    public void setInPlaceUpdates(boolean isEnabled) {
+        this.isInPlace = isEnabled;
+    }
+
+    /**
+     * Makes {@link #load()} leave task descriptions in a text data file until they are needed.
+     * Only each task's type, done flag, dates and the position of its description are held in
+     * memory; {@link Task#getDescription()} reads the description from a memory-mapped view
+     * of the file, keeping the most recently used ones in a cache of the given size.
+     * Binary data files and journaled additions are still loaded eagerly, and so is everything
+     * on Windows, where a mapped file could not be replaced by the next save.
+     *
+     * @param cacheSize Maximum number of descriptions cached in memory, or 0 to load eagerly.
+     */
+    public void setLazyDescriptions(int cacheSize) {
+        assert cacheSize >= 0 : "Description cache size must not be negative";
+        this.lazyDescriptionCache = cacheSize;
+    }
+
+    /**
+     * Enables moving completed tasks into compressed archive segments kept in a
+     * {@code .archive} directory next to the data file. On {@link #load()}, every done task
+     * whose deadline or event end lies more than {@code age} in the past is archived; a done
+     * todo, which has no date, once it was completed more than {@code age} ago.
+     * Archived tasks are only read back by {@link #loadArchived()} and {@link #findArchived(String)},
+     * which work whether or not archiving is enabled.
+     *
+     * @param age How long after its date a completed task stays in the main data file.
+     */
+    public void setArchiveAfter(Duration age) {
+        assert age != null && !age.isNegative() : "Archive age must not be negative";
+        this.archiveAge = age;
+    }
+
+    /**
+     * Enables archiving if the {@value #ARCHIVE_AFTER_DAYS_PROPERTY} system property is set to a
+     * number of days, e.g. {@code -Dvoy.archiveAfterDays=30}. Archiving is off otherwise, and an
+     * invalid value is ignored with a warning.
+     */
+    public void setArchiveAfterFromSystemProperty() {
+        String days = System.getProperty(ARCHIVE_AFTER_DAYS_PROPERTY);
+        if (days == null) {
+            return;
+        }
+        try {
+            long parsed = Long.parseLong(days.trim());
+            if (parsed >= 0) {
+                setArchiveAfter(Duration.ofDays(parsed));
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the warning below
+        }
+        warn("Ignoring " + ARCHIVE_AFTER_DAYS_PROPERTY + "=" + days + ": not a number of days.");
+    }
+
+    /**
+     * Writes any changes still pending in write-behind mode.
+     *
+     * @throws OrbitException If saving fails.
+     */
+    public void flush() throws OrbitException {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+        reportGroupCommitFailure();
+    }
+
+    private void syncJournal() {
+        try {
+            journal.sync();
+            groupCommitFailure = null;
+        } catch (OrbitException e) {
+            // the records stay unsynced, so the next tick retries them
+            groupCommitFailure = e;
+        }
+    }
+
+    /**
+     * Throws the failure of the last group commit, if any, once.
+     */
+    private void reportGroupCommitFailure() throws OrbitException {
+        OrbitException failure = groupCommitFailure;
+        if (failure != null) {
+            groupCommitFailure = null;
+            throw new OrbitException("Recent changes may not be on disk yet, retrying: " + failure.getMessage());
+        }
+    }
+
+    /**
+     * Blocks until any background compaction in flight has finished.
+     */
+    public void awaitCompaction() {
+        if (isJournaled()) {
+            compactor.await();
+        }
     }
 
     /**
@@ -52,129 +334,621 @@ public class Storage {
      * @throws OrbitException If loading fails.
      */
     public TaskList load() throws OrbitException {
-        ensureFileExists();
+        return load(new TaskList());
+    }
 
-        TaskList taskList = new TaskList();
+    /**
+     * Loads tasks from storage into the given list, such as a {@link ConcurrentTaskList}.
+     *
+     * @param taskList Empty task list to load into.
+     * @return The given task list, containing the loaded tasks.
+     * @throws OrbitException If loading fails.
+     */
+    public TaskList load(TaskList taskList) throws OrbitException {
+        assert taskList.size() == 0 : "Tasks must be loaded into an empty list";
+        ensureFileExists();
 
-        loadStorageTask(taskList);
+        boolean isBinaryFile = hasBinaryHeader();
+        long baseSeq = loadDataFile(taskList, isBinaryFile);
+        if (isJournaled()) {
+            replayJournal(taskList, baseSeq);
+        }
+        if (format == StorageFormat.BINARY && !isBinaryFile) {
+            // one-time migration from the pipe-delimited text format
+            save(taskList);
+        } else if (isInPlace && isJournaled() && journal.getRecordCount() > 0) {
+            // in-place updates address records in the data file, so it must hold every task
+            save(taskList);
+        }
+        archive.open();
+        if (archiveAge != null) {
+            archiveCompleted(taskList, LocalDateTime.now().minus(archiveAge));
+        }
 
         return taskList;
     }
 
-    private void loadStorageTask(TaskList taskList) throws OrbitException {
-        // always calls br.close() at the end even if an exception occurs to prevent resource leakage
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                addTaskToList(line, taskList);
+    /**
+     * Moves completed tasks dated before {@code cutoff} out of the task list into the archive,
+     * then saves the remaining tasks. The archive block is on disk before the data file is
+     * rewritten, so a crash in between can duplicate tasks but never lose them.
+     *
+     * @param taskList Task list to archive from.
+     * @param cutoff Tasks whose date is before this are archived.
+     * @return Number of tasks archived.
+     * @throws OrbitException If the archive or the data file cannot be written.
+     */
+    int archiveCompleted(TaskList taskList, LocalDateTime cutoff) throws OrbitException {
+        List<Task> completed = new ArrayList<>();
+        for (Task task : taskList.snapshot()) {
+            if (isArchivable(task, cutoff)) {
+                completed.add(task);
             }
+        }
+        if (completed.isEmpty()) {
+            return 0;
+        }
+
+        archive.append(completed);
+        taskList.removeIf(task -> isArchivable(task, cutoff));
+        save(taskList);
+        return completed.size();
+    }
+
+    private static boolean isArchivable(Task task, LocalDateTime cutoff) {
+        if (!task.isDone()) {
+            return false;
+        }
+        LocalDateTime date = task instanceof Deadline ? ((Deadline) task).getDeadline() : task.getEndDate();
+        if (task instanceof RecurringEvent) {
+            date = ((RecurringEvent) task).getSeriesEnd();
+        }
+        if (date == null) {
+            date = task.getCompletedAt();
+        }
+        return date.isBefore(cutoff);
+    }
+
+    /**
+     * Returns the number of archived tasks without reading the archive.
+     *
+     * @return Archived task count, as of the last {@link #load()}.
+     */
+    public int getArchivedCount() {
+        return archive.getTaskCount();
+    }
+
+    /**
+     * Decompresses and returns every archived task, oldest first.
+     *
+     * @return Archived tasks, or an empty list if nothing has been archived.
+     * @throws OrbitException If the archive cannot be read.
+     */
+    public List<Task> loadArchived() throws OrbitException {
+        return archive.readAll();
+    }
+
+    /**
+     * Returns archived tasks whose descriptions contain the keyword, ignoring case.
+     *
+     * @param keyword Keyword to search for.
+     * @return Matching archived tasks, or an empty list if none match.
+     * @throws OrbitException If the archive cannot be read.
+     */
+    public List<Task> findArchived(String keyword) throws OrbitException {
+        String upper = keyword.toUpperCase();
+        return archive.read(task -> task.getDescription().toUpperCase().contains(upper));
+    }
+
+    /**
+     * Writes the tasks currently persisted by this storage, including any journaled
+     * mutations, to {@code targetPath} in the text format. Intended for inspecting
+     * binary data files.
+     *
+     * @param targetPath Path of the text file to write.
+     * @throws OrbitException If the data file cannot be read or the export cannot be written.
+     */
+    public void exportText(String targetPath) throws OrbitException {
+        ensureFileExists();
+
+        TaskList taskList = new TaskList();
+        long baseSeq = loadDataFile(taskList, hasBinaryHeader());
+        if (isJournaled()) {
+            replayJournal(taskList, baseSeq);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (String line : encodeTasks(taskList)) {
+            sb.append(line).append(System.lineSeparator());
+        }
+        AtomicFileWriter.write(new File(targetPath), sb.toString().getBytes(StandardCharsets.UTF_8),
+                durability != Durability.NONE);
+    }
+
+    /**
+     * Reads the data file into the task list using the decoder for its format.
+     * Large text files are read into memory and parsed in parallel.
+     *
+     * @return The journal sequence number recorded in the snapshot, or 0 if absent.
+     */
+    private long loadDataFile(TaskList taskList, boolean isBinaryFile) throws OrbitException {
+        if (!isBinaryFile && lazyDescriptionCache > 0 && LazyTextLoader.isSupported()) {
+            return new LazyTextLoader(lazyDescriptionCache, this::warn).load(file, taskList);
+        }
+        if (!isBinaryFile && file.length() >= parallelLoadThreshold) {
+            return new ParallelTextLoader(ForkJoinPool.commonPool(), this::warn).load(file, taskList);
+        }
+        byte[] bytes = readDataFile();
+        return isBinaryFile ? loadBinaryTask(bytes, taskList) : loadStorageTask(bytes, taskList);
+    }
+
+    private boolean hasBinaryHeader() throws OrbitException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return BinaryTaskFormat.isBinary(in.readNBytes(MAGIC_LENGTH));
+        } catch (IOException e) {
+            throw new OrbitException("Error reading save file.");
+        }
+    }
+
+    private byte[] readDataFile() throws OrbitException {
+        try {
+            return Files.readAllBytes(file.toPath());
         } catch (IOException e) {
             throw new OrbitException("Error reading save file.");
         }
     }
 
-    private void addTaskToList(String line, TaskList taskList) {
+    private static long loadBinaryTask(byte[] bytes, TaskList taskList) throws OrbitException {
+        BinaryTaskFormat.Decoded decoded = BinaryTaskFormat.decode(bytes);
+        for (int i = 0; i < decoded.tasks.size(); i++) {
+            if (decoded.ids == null || decoded.ids[i] < taskList.getNextId()) {
+                taskList.addTask(decoded.tasks.get(i));
+            } else {
+                taskList.addTask(decoded.tasks.get(i), decoded.ids[i]);
+            }
+        }
+        taskList.reserveIds(decoded.nextId);
+        return decoded.seq;
+    }
+
+    /**
+     * Reads the text data file into the task list, verifying its checksum trailer if present.
+     *
+     * @return The journal sequence number recorded in the snapshot header, or 0 if absent.
+     */
+    private long loadStorageTask(byte[] bytes, TaskList taskList) throws OrbitException {
+        int contentLength = TextTaskFormat.verifyChecksum(ByteBuffer.wrap(bytes), file.getPath());
+
+        long baseSeq = 0;
+        TaskIds ids = new TaskIds();
+        String content = new String(bytes, 0, contentLength, StandardCharsets.UTF_8);
+        for (String line : content.split("\\R")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith(TextTaskFormat.SNAPSHOT_SEQ_PREFIX)) {
+                baseSeq = TextTaskFormat.parseSnapshotSeq(line);
+            } else if (line.startsWith(TextTaskFormat.METADATA_PREFIX)) {
+                ids.readHeader(line, taskList);
+            } else {
+                addTaskToList(line, taskList, ids);
+            }
+        }
+        ids.finish(taskList);
+        return baseSeq;
+    }
+
+    private void addTaskToList(String line, TaskList taskList, TaskIds ids) {
         try {
-            Task task = parseTask(line);
-            taskList.addTask(task);
+            Task task = TextTaskFormat.parseTask(line);
+            ids.add(task, taskList);
         } catch (Exception e) {
             // stretch goal: corrupted line → skip
-            System.out.println("Skipping corrupted line: " + line);
+            warn("Skipping corrupted line: " + line);
+        }
+    }
+
+    private void replayJournal(TaskList taskList, long baseSeq) throws OrbitException {
+        for (String record : journal.readRecords(baseSeq)) {
+            try {
+                applyRecord(record, taskList, baseSeq);
+            } catch (Exception e) {
+                // a torn record at the tail is expected after a crash mid-append
+                warn("Skipping corrupted journal record: " + record);
+            }
+        }
+    }
+
+    private void applyRecord(String record, TaskList taskList, long baseSeq) {
+        String[] parts = Journal.split(record);
+        if (Journal.seqOf(parts) <= baseSeq) {
+            // already folded into the snapshot by an earlier compaction
+            return;
+        }
+        String payload = Journal.payloadOf(parts);
+
+        switch (Journal.opOf(parts)) {
+        case Journal.OP_ADD:
+            taskList.addTask(TextTaskFormat.parseTask(payload));
+            break;
+        case Journal.OP_MARK:
+            taskList.getTask(Integer.parseInt(payload)).markAsDone();
+            break;
+        case Journal.OP_UNMARK:
+            taskList.getTask(Integer.parseInt(payload)).markAsNotDone();
+            break;
+        case Journal.OP_DELETE:
+            taskList.removeTask(Integer.parseInt(payload));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown journal operation");
         }
     }
 
     /**
      * Saves the given task list to storage.
+     * <p>
+     * The data file is replaced atomically: the snapshot is written to a sibling temp file,
+     * forced according to the {@link Durability} level, and renamed over the old file, so a
+     * crash leaves either the previous file or the complete new one. In journaled mode the
+     * journal is cleared afterwards. Always writes synchronously, even in write-behind mode.
      *
      * @param taskList Task list to be saved.
      * @throws OrbitException If saving fails.
      */
     public void save(TaskList taskList) throws OrbitException {
         assert taskList != null : "TaskList must not be null";
-        assert taskList.getTasks() != null : "Internal task list must not be null";
         ensureFileExists();
+        if (writeBehind != null) {
+            writeBehind.cancel();
+        }
 
-        saveStorageTask(taskList);
+        commitSnapshot(encodeSnapshot(taskList));
+        // the snapshot holds every journaled change, so an earlier failed group commit no longer matters
+        groupCommitFailure = null;
     }
 
-    private void saveStorageTask(TaskList taskList) throws OrbitException {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file))) {
-            for (Task task : taskList.getTasks()) {
-                bw.write(task.toFileString());
-                bw.newLine();
+    /**
+     * Encodes and writes a snapshot from a thread other than the one mutating the task list,
+     * holding the list's monitor only while encoding. A {@link ConcurrentTaskList} is encoded
+     * from its immutable snapshot instead, without the monitor.
+     *
+     * @param taskList Task list to save.
+     * @throws OrbitException If saving fails.
+     */
+    void saveInBackground(TaskList taskList) throws OrbitException {
+        if (!(taskList instanceof ConcurrentTaskList)) {
+            Snapshot snapshot;
+            synchronized (taskList) {
+                snapshot = encodeSnapshot(taskList);
             }
-        } catch (IOException e) {
-            throw new OrbitException("Error saving tasks.");
+            commitSnapshot(snapshot);
+            return;
+        }
+        long seq;
+        long version;
+        List<Task> tasks;
+        long nextId;
+        // callers journal each mutation under the monitor, so the sequence number matches the tasks read with it
+        synchronized (taskList) {
+            seq = isJournaled() ? journal.getLastSeq() : 0;
+            version = snapshotVersion.incrementAndGet();
+            tasks = taskList.snapshot();
+            nextId = taskList.getNextId();
         }
+        commitSnapshot(encodeSnapshot(tasks, nextId, seq, version));
     }
 
     /**
-     * Checks if the file exists.
-     * If not, creates new directory and new file.
+     * Returns timing details of the most recent full save, or null if nothing has been saved yet.
      *
-     * @throws OrbitException If saving fails.
+     * @return Encoding and write times of the last snapshot written.
      */
-    private void ensureFileExists() throws OrbitException {
-        try {
-            File parent = file.getParentFile();
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
-            }
-            if (!file.exists()) {
-                file.createNewFile();
+    public SaveStats getLastSaveStats() {
+        synchronized (snapshotLock) {
+            return lastSaveStats;
+        }
+    }
+
+    /**
+     * Writes a snapshot and trims the journal records it covers. Snapshots may be committed
+     * out of order by background threads, so one older than the snapshot already on disk
+     * is discarded.
+     *
+     * @param snapshot Encoded data file.
+     * @throws OrbitException If the snapshot or journal cannot be written.
+     */
+    void commitSnapshot(Snapshot snapshot) throws OrbitException {
+        synchronized (snapshotLock) {
+            if (snapshot.version < writtenVersion) {
+                return;
             }
-        } catch (IOException e) {
-            throw new OrbitException("Unable to create save file.");
+            long start = System.nanoTime();
+            AtomicFileWriter.write(file, snapshot.buffers, durability != Durability.NONE);
+            long writeNanos = System.nanoTime() - start;
+
+            writtenVersion = snapshot.version;
+            recordIndex = isInPlaceApplicable() ? RecordIndex.scan(snapshot.buffers) : null;
+            lastSaveStats = new SaveStats(snapshot.taskCount, snapshot.byteCount(),
+                    snapshot.encodeNanos, writeNanos);
+        }
+        if (isJournaled()) {
+            journal.dropThrough(snapshot.seq);
         }
     }
 
     /**
-     * Parses file input into task object.
+     * Encodes the complete data file for the given task list in the selected format.
+     * Must be called by the thread that owns the list, or while holding its monitor.
+     * Large text snapshots are encoded in parallel slices.
      *
-     * @param line File input containing task description.
-     * @return Task object.
+     * @param taskList Tasks to encode.
+     * @return The encoded data file, including header and checksum trailer.
+     */
+    private Snapshot encodeSnapshot(TaskList taskList) {
+        long seq = isJournaled() ? journal.getLastSeq() : 0;
+        long version = snapshotVersion.incrementAndGet();
+        List<Task> tasks = taskList.snapshot();
+        // read after the tasks: IDs only grow, so this never hands out an ID of a saved task again
+        long nextId = taskList.getNextId();
+        return encodeSnapshot(tasks, nextId, seq, version);
+    }
+
+    /**
+     * Encodes the complete data file for tasks already read from a task list.
+     *
+     * @param tasks Tasks to encode.
+     * @param nextId Next task ID of the list, read after the tasks.
+     * @param seq Last journal sequence number reflected in the tasks.
+     * @param version Snapshot version, taken when the tasks were read.
+     * @return The encoded data file, including header and checksum trailer.
+     */
+    private Snapshot encodeSnapshot(List<Task> tasks, long nextId, long seq, long version) {
+        long start = System.nanoTime();
+        ByteBuffer[] buffers;
+        if (format == StorageFormat.BINARY) {
+            buffers = new ByteBuffer[] { ByteBuffer.wrap(BinaryTaskFormat.encode(tasks, nextId, seq)) };
+        } else {
+            buffers = encodeText(tasks, nextId, seq);
+        }
+        return new Snapshot(buffers, tasks.size(), seq, version, System.nanoTime() - start);
+    }
+
+    /**
+     * Encodes the text data file as header, task slices and checksum trailer buffers.
+     * The header holds the snapshot sequence number, in journaled mode, and the task IDs.
+     */
+    private ByteBuffer[] encodeText(List<Task> tasks, long nextId, long seq) {
+        String header = (isJournaled() ? TextTaskFormat.SNAPSHOT_SEQ_PREFIX + seq + System.lineSeparator() : "")
+                + TaskIds.encode(tasks, nextId);
+        ByteBuffer[] slices = new ChunkedTextEncoder(ForkJoinPool.commonPool()).encode(tasks);
+
+        ByteBuffer[] buffers = new ByteBuffer[slices.length + 2];
+        buffers[0] = ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8));
+        System.arraycopy(slices, 0, buffers, 1, slices.length);
+
+        CRC32 crc = new CRC32();
+        for (int i = 0; i <= slices.length; i++) {
+            crc.update(buffers[i].duplicate());
+        }
+        String trailer = String.format("%s%08x%s", TextTaskFormat.CHECKSUM_PREFIX, crc.getValue(),
+                System.lineSeparator());
+        buffers[buffers.length - 1] = ByteBuffer.wrap(trailer.getBytes(StandardCharsets.UTF_8));
+        return buffers;
+    }
+
+    private static ArrayList<String> encodeTasks(TaskList taskList) {
+        ArrayList<String> lines = new ArrayList<>(taskList.size());
+        for (Task task : taskList.snapshot()) {
+            lines.add(task.toFileString());
+        }
+        return lines;
+    }
+
+    /**
+     * Starts a background compaction once the journal has outgrown its thresholds.
+     * The snapshot is encoded here, on the caller's thread, so the task list
+     * is never read concurrently; only the disk I/O happens in the background.
      */
-    private Task parseTask(String line) {
-        assert line != null : "Line from file should not be null";
+    private void compactIfNeeded(TaskList taskList) {
+        boolean isOverThreshold = journal.getRecordCount() >= compactRecordThreshold
+                || journal.getByteSize() >= compactByteThreshold;
+        if (!isOverThreshold || compactor.isRunning()) {
+            return;
+        }
+        compactor.submit(encodeSnapshot(taskList));
+    }
 
-        String[] parts = line.split(DELIMITER_REGEX);
+    /**
+     * Persists a task that has just been appended to the task list.
+     *
+     * @param taskList Task list after the addition.
+     * @param task Task that was added.
+     * @throws OrbitException If saving fails.
+     */
+    public void saveAdded(TaskList taskList, Task task) throws OrbitException {
+        if (writeBehind != null) {
+            ensureFileExists();
+            if (isJournaled()) {
+                journal.append(Journal.OP_ADD, task.toFileString());
+            }
+            writeBehind.markDirty(taskList);
+            reportGroupCommitFailure();
+            return;
+        }
+        if (isInPlaceApplicable()) {
+            appendRecord(taskList, task);
+            return;
+        }
+        if (!isJournaled()) {
+            save(taskList);
+            return;
+        }
+        ensureFileExists();
+        journal.append(Journal.OP_ADD, task.toFileString());
+        compactIfNeeded(taskList);
+        reportGroupCommitFailure();
+    }
 
-        assert parts.length >= 3 : "Saved task line format corrupted: " + line;
+    /**
+     * Persists that the task at the given index has been marked as done.
+     *
+     * @param taskList Task list after the update.
+     * @param index 0-based index of the updated task.
+     * @throws OrbitException If saving fails.
+     */
+    public void saveMarked(TaskList taskList, int index) throws OrbitException {
+        if (writeBehind == null && isInPlaceApplicable()) {
+            patchDoneFlag(taskList, index, true);
+            return;
+        }
+        saveIndexed(taskList, Journal.OP_MARK, index);
+    }
 
-        return getTask(parts);
+    /**
+     * Persists that the task at the given index has been marked as not done.
+     *
+     * @param taskList Task list after the update.
+     * @param index 0-based index of the updated task.
+     * @throws OrbitException If saving fails.
+     */
+    public void saveUnmarked(TaskList taskList, int index) throws OrbitException {
+        if (writeBehind == null && isInPlaceApplicable()) {
+            patchDoneFlag(taskList, index, false);
+            return;
+        }
+        saveIndexed(taskList, Journal.OP_UNMARK, index);
     }
 
-    private static Task getTask(String[] parts) {
-        boolean isDone = parts[IDX_DONE].equals("1");
+    /**
+     * Persists that the task at the given index has been removed.
+     *
+     * @param taskList Task list after the removal.
+     * @param index 0-based index the removed task occupied.
+     * @throws OrbitException If saving fails.
+     */
+    public void saveDeleted(TaskList taskList, int index) throws OrbitException {
+        saveIndexed(taskList, Journal.OP_DELETE, index);
+    }
 
-        switch (parts[IDX_TYPE]) {
-        case TODO_TYPE:
-            Task toDo = new ToDo(parts[IDX_DESCRIPTION]);
-            if (isDone) {
-                toDo.markAsDone();
+    private void saveIndexed(TaskList taskList, String op, int index) throws OrbitException {
+        if (writeBehind != null) {
+            ensureFileExists();
+            if (isJournaled()) {
+                journal.append(op, String.valueOf(index));
             }
-            return toDo;
+            writeBehind.markDirty(taskList);
+            reportGroupCommitFailure();
+            return;
+        }
+        if (!isJournaled()) {
+            save(taskList);
+            return;
+        }
+        ensureFileExists();
+        journal.append(op, String.valueOf(index));
+        compactIfNeeded(taskList);
+        reportGroupCommitFailure();
+    }
+
+    private boolean isInPlaceApplicable() {
+        return isInPlace && format == StorageFormat.TEXT;
+    }
 
-        case DEADLINE_TYPE:
-            assert parts.length == 4 : "Deadline format should have 4 parts";
-            Task deadline = new Deadline(parts[IDX_DESCRIPTION], LocalDateTime.parse(parts[IDX_DEADLINE]));
-            if (isDone) {
-                deadline.markAsDone();
+    /**
+     * Overwrites the done flag of the task at {@code index} with a single positional write.
+     */
+    private void patchDoneFlag(TaskList taskList, int index, boolean isDone) throws OrbitException {
+        ensureFileExists();
+        synchronized (snapshotLock) {
+            RecordIndex records = recordIndexFor(taskList.size());
+            if (records == null) {
+                save(taskList);
+                return;
+            }
+            byte flag = (byte) (isDone ? '1' : '0');
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                cutTrailer(channel, records);
+                channel.write(ByteBuffer.wrap(new byte[] { flag }),
+                        records.offsetOf(index) + TextTaskFormat.DONE_FLAG_OFFSET);
+                forceIfDurable(channel);
+            } catch (IOException e) {
+                throw new OrbitException("Error saving tasks.");
             }
-            return deadline;
+        }
+    }
 
-        case EVENT_TYPE:
-            assert parts.length == 5 : "Event format should have 5 parts";
-            Task event = new Event(parts[IDX_DESCRIPTION], LocalDateTime.parse(parts[IDX_EVENT_FROM]),
-                    LocalDateTime.parse(parts[IDX_EVENT_TO]));
-            if (isDone) {
-                event.markAsDone();
+    /**
+     * Appends the line of a newly added task to the end of the data file.
+     */
+    private void appendRecord(TaskList taskList, Task task) throws OrbitException {
+        ensureFileExists();
+        synchronized (snapshotLock) {
+            // the list already contains the new task, which the file does not
+            RecordIndex records = recordIndexFor(taskList.size() - 1);
+            if (records == null) {
+                save(taskList);
+                return;
             }
-            return event;
+            byte[] line = (task.toFileString() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                cutTrailer(channel, records);
+                long offset = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, offset + buffer.position());
+                }
+                forceIfDurable(channel);
+                records.add(offset);
+            } catch (IOException e) {
+                throw new OrbitException("Error saving tasks.");
+            }
+        }
+    }
 
-        default:
-            assert false : "Unrecognized task type: " + parts[1];
-            throw new IllegalArgumentException("Unknown task type");
+    /**
+     * Returns the offset table for the data file, scanning the file once if it is not yet known.
+     *
+     * @param expectedRecords Number of task lines the file should contain.
+     * @return The offset table, or null if the file does not match the list and needs a full save.
+     */
+    private RecordIndex recordIndexFor(int expectedRecords) throws OrbitException {
+        if (recordIndex == null) {
+            recordIndex = RecordIndex.scan(file);
+        }
+        return recordIndex.size() == expectedRecords ? recordIndex : null;
+    }
+
+    private static void cutTrailer(FileChannel channel, RecordIndex records) throws IOException {
+        if (records.getTrailerOffset() >= 0) {
+            channel.truncate(records.getTrailerOffset());
+            records.clearTrailer();
+        }
+    }
+
+    private void forceIfDurable(FileChannel channel) throws IOException {
+        if (durability != Durability.NONE) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Checks if the file exists.
+     * If not, creates new directory and new file.
+     *
+     * @throws OrbitException If saving fails.
+     */
+    private void ensureFileExists() throws OrbitException {
+        try {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            if (!file.exists()) {
+                file.createNewFile();
+            }
+        } catch (IOException e) {
+            throw new OrbitException("Unable to create save file.");
         }
     }
 }
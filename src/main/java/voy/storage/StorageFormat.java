@@ -0,0 +1,12 @@
+package voy.storage;
+
+/**
+ * Represents the on-disk encodings {@link Storage} can write.
+ * Both are recognised on load regardless of which one is selected.
+ */
+public enum StorageFormat {
+    /** Human-readable {@code T | 0 | description} lines. */
+    TEXT,
+    /** Compact length-prefixed records; see {@link BinaryTaskFormat}. */
+    BINARY
+}
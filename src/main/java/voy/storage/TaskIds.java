@@ -0,0 +1,182 @@
+package voy.storage;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import voy.exception.OrbitException;
+import voy.task.Task;
+import voy.task.TaskList;
+import voy.task.TaskType;
+
+/**
+ * Reads and writes the task IDs of a text data file, and the completion times of done todos.
+ * <p>
+ * IDs increase along the list, so they are stored as two header lines rather than in every
+ * task line: the IDs of the tasks in file order as ranges, e.g. {@code # ids 1-40,42,44-100},
+ * and the next ID to assign, e.g. {@code # next-id 103}. Tasks beyond the listed IDs, such as
+ * ones appended in place after the header was written, get the following IDs in order. Files
+ * without the header number their tasks from 1, so the header is only written once a task has
+ * been deleted.
+ * <p>
+ * Todos have no date of their own, so the time each done todo was completed is kept by ID in a
+ * third header line, e.g. {@code # done-at 3=2026-10-18T10:15:30,7=2026-10-19T08:00}, for archiving
+ * by age. A done todo missing from it counts as completed when loaded. In-place updates do not
+ * rewrite the header, so a todo unmarked and marked again in place keeps its earlier completion
+ * time until the next full save.
+ */
+class TaskIds {
+    static final String IDS_PREFIX = "# ids ";
+    static final String NEXT_ID_PREFIX = "# next-id ";
+    static final String DONE_AT_PREFIX = "# done-at ";
+
+    private long[] ranges = new long[0];
+    private int range;
+    private long nextInRange;
+    private long reservedNextId;
+    private final Map<Long, LocalDateTime> completedAt = new HashMap<>();
+
+    /**
+     * Encodes the ID header lines for the given tasks.
+     *
+     * @param tasks Tasks in list order.
+     * @param nextId Next ID the list will assign.
+     * @return The header lines, each ending with a line separator: the ID lines unless the tasks are
+     *     numbered from 1 with no gaps, then the completion times unless no todo is done.
+     */
+    static String encode(List<Task> tasks, long nextId) {
+        return encodeIds(tasks, nextId) + encodeCompletedAt(tasks);
+    }
+
+    private static String encodeCompletedAt(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder(DONE_AT_PREFIX);
+        for (Task task : tasks) {
+            if (task.isDone() && task.getTaskType() == TaskType.TODO) {
+                if (sb.length() > DONE_AT_PREFIX.length()) {
+                    sb.append(',');
+                }
+                sb.append(task.getId()).append('=').append(task.getCompletedAt());
+            }
+        }
+        return sb.length() > DONE_AT_PREFIX.length() ? sb.append(System.lineSeparator()).toString() : "";
+    }
+
+    private static String encodeIds(List<Task> tasks, long nextId) {
+        if (nextId == tasks.size() + 1 && (tasks.isEmpty() || tasks.get(tasks.size() - 1).getId() == nextId - 1)) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(IDS_PREFIX);
+        int i = 0;
+        while (i < tasks.size()) {
+            long first = tasks.get(i).getId();
+            long last = first;
+            while (++i < tasks.size() && tasks.get(i).getId() == last + 1) {
+                last++;
+            }
+            if (sb.length() > IDS_PREFIX.length()) {
+                sb.append(',');
+            }
+            sb.append(first);
+            if (last > first) {
+                sb.append('-').append(last);
+            }
+        }
+        return sb.append(System.lineSeparator())
+                .append(NEXT_ID_PREFIX).append(nextId).append(System.lineSeparator())
+                .toString();
+    }
+
+    /**
+     * Applies an ID header line, if the given metadata line is one.
+     *
+     * @param line Metadata line of the data file.
+     * @param taskList Task list being loaded.
+     * @return true if the line was an ID header.
+     * @throws OrbitException If the header is malformed.
+     */
+    boolean readHeader(String line, TaskList taskList) throws OrbitException {
+        try {
+            if (line.startsWith(IDS_PREFIX)) {
+                ranges = parseRanges(line.substring(IDS_PREFIX.length()).trim());
+                range = 0;
+                nextInRange = ranges.length > 0 ? ranges[0] : 0;
+                return true;
+            }
+            if (line.startsWith(NEXT_ID_PREFIX)) {
+                reservedNextId = Long.parseLong(line.substring(NEXT_ID_PREFIX.length()).trim());
+                return true;
+            }
+            if (line.startsWith(DONE_AT_PREFIX)) {
+                for (String entry : line.substring(DONE_AT_PREFIX.length()).trim().split(",")) {
+                    String[] parts = entry.split("=", 2);
+                    completedAt.put(Long.parseLong(parts[0]), LocalDateTime.parse(parts[1]));
+                }
+                return true;
+            }
+        } catch (NumberFormatException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new OrbitException("Error reading save file.");
+        }
+        return false;
+    }
+
+    private static long[] parseRanges(String text) {
+        if (text.isEmpty()) {
+            return new long[0];
+        }
+        String[] parts = text.split(",");
+        long[] parsed = new long[parts.length * 2];
+        for (int i = 0; i < parts.length; i++) {
+            String[] bounds = parts[i].split("-", 2);
+            parsed[2 * i] = Long.parseLong(bounds[0]);
+            parsed[2 * i + 1] = bounds.length == 2 ? Long.parseLong(bounds[1]) : parsed[2 * i];
+        }
+        return parsed;
+    }
+
+    /**
+     * Adds the next task read from the file, with its stored ID if the header listed one.
+     *
+     * @param task Parsed task.
+     * @param taskList Task list being loaded.
+     */
+    void add(Task task, TaskList taskList) {
+        addWithId(task, taskList);
+        LocalDateTime completed = completedAt.get(task.getId());
+        if (completed != null && task.isDone()) {
+            task.markAsDone(completed);
+        }
+    }
+
+    private void addWithId(Task task, TaskList taskList) {
+        if (range * 2 >= ranges.length) {
+            finish(taskList);
+            taskList.addTask(task);
+            return;
+        }
+        long id = nextInRange;
+        if (id == ranges[range * 2 + 1]) {
+            range++;
+            nextInRange = range * 2 < ranges.length ? ranges[range * 2] : 0;
+        } else {
+            nextInRange++;
+        }
+        if (id < taskList.getNextId()) {
+            // a hand-edited or damaged header; fall back to numbering in order
+            taskList.addTask(task);
+            return;
+        }
+        taskList.addTask(task, id);
+    }
+
+    /**
+     * Reserves the IDs handed out before the file was saved. Called once every task line has been
+     * read, and before the first task beyond the listed IDs is added.
+     *
+     * @param taskList Task list being loaded.
+     */
+    void finish(TaskList taskList) {
+        taskList.reserveIds(reservedNextId);
+    }
+}
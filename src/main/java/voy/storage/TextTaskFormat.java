@@ -0,0 +1,161 @@
+package voy.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.CRC32;
+
+import voy.exception.OrbitException;
+import voy.task.Deadline;
+import voy.task.Event;
+import voy.task.Frequency;
+import voy.task.RecurringEvent;
+import voy.task.Task;
+import voy.task.ToDo;
+
+/**
+ * Parses lines of the pipe-delimited text data file, e.g. {@code D | 0 | submit report | 2026-03-12T14:30}.
+ * <p>
+ * A recurring event is one {@code R} line: an event line followed by its frequency and last date,
+ * e.g. {@code R | 0 | standup | 2026-03-09T09:00 | 2026-03-09T09:15 | WEEKLY | 2026-06-29}.
+ */
+class TextTaskFormat {
+    static final String METADATA_PREFIX = "#";
+    static final String SNAPSHOT_SEQ_PREFIX = "# seq ";
+    static final String CHECKSUM_PREFIX = "# crc32 ";
+    /** Byte offset of the done flag within a task line, after {@code "T | "}. */
+    static final int DONE_FLAG_OFFSET = 4;
+
+    private static final String DELIMITER_REGEX = " \\| ";
+    private static final String TODO_TYPE = "T";
+    private static final String DEADLINE_TYPE = "D";
+    private static final String EVENT_TYPE = "E";
+    private static final String RECURRING_EVENT_TYPE = "R";
+
+    private static final int IDX_TYPE = 0;
+    private static final int IDX_DONE = 1;
+    private static final int IDX_DESCRIPTION = 2;
+    private static final int IDX_DEADLINE = 3;
+    private static final int IDX_EVENT_FROM = 3;
+    private static final int IDX_EVENT_TO = 4;
+    private static final int IDX_FREQUENCY = 5;
+    private static final int IDX_UNTIL = 6;
+
+    private TextTaskFormat() {
+        // Utility class: prevent instantiation.
+    }
+
+    /**
+     * Parses the journal sequence number from a {@code # seq} header line.
+     *
+     * @param line Header line.
+     * @return Sequence number.
+     * @throws OrbitException If the number is malformed.
+     */
+    static long parseSnapshotSeq(String line) throws OrbitException {
+        try {
+            return Long.parseLong(line.substring(SNAPSHOT_SEQ_PREFIX.length()).trim());
+        } catch (NumberFormatException e) {
+            throw new OrbitException("Error reading save file.");
+        }
+    }
+
+    /**
+     * Checks the {@code # crc32} trailer against the bytes preceding it.
+     * Files written before checksums were introduced have no trailer and are accepted as is.
+     *
+     * @param bytes Raw contents of the data file, from position 0 to its limit.
+     * @param path Path of the data file, for error messages.
+     * @return Number of leading bytes that hold task data, excluding the trailer.
+     * @throws OrbitException If the trailer does not match the file contents.
+     */
+    static int verifyChecksum(ByteBuffer bytes, String path) throws OrbitException {
+        int contentEnd = bytes.limit();
+        while (contentEnd > 0 && (bytes.get(contentEnd - 1) == '\n' || bytes.get(contentEnd - 1) == '\r')) {
+            contentEnd--;
+        }
+        int lineStart = contentEnd;
+        while (lineStart > 0 && bytes.get(lineStart - 1) != '\n') {
+            lineStart--;
+        }
+        byte[] lastLineBytes = new byte[contentEnd - lineStart];
+        bytes.get(lineStart, lastLineBytes);
+        String lastLine = new String(lastLineBytes, StandardCharsets.UTF_8);
+        if (!lastLine.startsWith(CHECKSUM_PREFIX)) {
+            return bytes.limit();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate().position(0).limit(lineStart));
+        try {
+            long expected = Long.parseLong(lastLine.substring(CHECKSUM_PREFIX.length()).trim(), 16);
+            if (crc.getValue() == expected) {
+                return lineStart;
+            }
+        } catch (NumberFormatException e) {
+            // fall through: an unreadable trailer is as bad as a wrong one
+        }
+        throw new OrbitException("Save file is corrupted (checksum mismatch): " + path);
+    }
+
+    /**
+     * Parses file input into task object.
+     *
+     * @param line File input containing task description.
+     * @return Task object.
+     */
+    static Task parseTask(String line) {
+        assert line != null : "Line from file should not be null";
+
+        String[] parts = line.split(DELIMITER_REGEX);
+
+        assert parts.length >= 3 : "Saved task line format corrupted: " + line;
+
+        return getTask(parts);
+    }
+
+    private static Task getTask(String[] parts) {
+        boolean isDone = parts[IDX_DONE].equals("1");
+
+        switch (parts[IDX_TYPE]) {
+        case TODO_TYPE:
+            Task toDo = new ToDo(parts[IDX_DESCRIPTION]);
+            if (isDone) {
+                toDo.markAsDone();
+            }
+            return toDo;
+
+        case DEADLINE_TYPE:
+            assert parts.length == 4 : "Deadline format should have 4 parts";
+            Task deadline = new Deadline(parts[IDX_DESCRIPTION], LocalDateTime.parse(parts[IDX_DEADLINE]));
+            if (isDone) {
+                deadline.markAsDone();
+            }
+            return deadline;
+
+        case EVENT_TYPE:
+            assert parts.length == 5 : "Event format should have 5 parts";
+            Task event = new Event(parts[IDX_DESCRIPTION], LocalDateTime.parse(parts[IDX_EVENT_FROM]),
+                    LocalDateTime.parse(parts[IDX_EVENT_TO]));
+            if (isDone) {
+                event.markAsDone();
+            }
+            return event;
+
+        case RECURRING_EVENT_TYPE:
+            assert parts.length == 7 : "Recurring event format should have 7 parts";
+            Task recurring = new RecurringEvent(parts[IDX_DESCRIPTION], LocalDateTime.parse(parts[IDX_EVENT_FROM]),
+                    LocalDateTime.parse(parts[IDX_EVENT_TO]), Frequency.valueOf(parts[IDX_FREQUENCY]),
+                    LocalDate.parse(parts[IDX_UNTIL]));
+            if (isDone) {
+                recurring.markAsDone();
+            }
+            return recurring;
+
+        default:
+            assert false : "Unrecognized task type: " + parts[1];
+            throw new IllegalArgumentException("Unknown task type");
+        }
+    }
+}
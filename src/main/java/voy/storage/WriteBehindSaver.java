@@ -0,0 +1,143 @@
+package voy.storage;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import voy.exception.OrbitException;
+import voy.task.TaskList;
+
+/**
+ * Saves the task list asynchronously, coalescing bursts of mutations into one write.
+ * <p>
+ * The first mutation after a write schedules a flush {@code intervalMillis} later;
+ * mutations arriving before then only update which list is dirty. Pending changes are
+ * also flushed when the JVM shuts down.
+ * <p>
+ * A write that fails leaves the list dirty and is retried an interval later. The failure is
+ * reported by the next call to {@link #markDirty(TaskList)}, unless {@link #flush()} retries
+ * first and reports its own outcome.
+ */
+class WriteBehindSaver {
+    private final Storage storage;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor;
+
+    private TaskList dirtyList;
+    private ScheduledFuture<?> pending;
+    /** Failure of a background write not yet reported to a caller, or null. */
+    private OrbitException failure;
+
+    /**
+     * Constructs a WriteBehindSaver that writes through the given storage.
+     *
+     * @param storage Storage used to write snapshots.
+     * @param intervalMillis Minimum delay between writes, in milliseconds.
+     */
+    WriteBehindSaver(Storage storage, long intervalMillis) {
+        this.storage = storage;
+        this.intervalMillis = intervalMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "voy-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushQuietly, "voy-write-behind-shutdown"));
+    }
+
+    /**
+     * Records that the task list has changed and schedules a write if none is pending.
+     *
+     * @param taskList Task list to save.
+     * @throws OrbitException If an earlier background write failed; the list is still saved later.
+     */
+    synchronized void markDirty(TaskList taskList) throws OrbitException {
+        dirtyList = taskList;
+        schedule();
+        reportFailure();
+    }
+
+    private void schedule() {
+        if (pending == null) {
+            pending = executor.schedule(this::flushQuietly, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reportFailure() throws OrbitException {
+        OrbitException reported = failure;
+        if (reported != null) {
+            failure = null;
+            throw new OrbitException("Changes could not be saved in the background, retrying: "
+                    + reported.getMessage());
+        }
+    }
+
+    /**
+     * Drops any pending write, typically because a full save is about to happen anyway.
+     */
+    synchronized void cancel() {
+        dirtyList = null;
+        failure = null;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    /**
+     * Writes the dirty task list now, if there is one.
+     *
+     * A background failure not yet reported is retried here rather than reported on its own.
+     *
+     * @throws OrbitException If saving fails; the list stays dirty and is retried later.
+     */
+    void flush() throws OrbitException {
+        try {
+            write();
+        } catch (OrbitException e) {
+            synchronized (this) {
+                failure = null;
+            }
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            write();
+        } catch (OrbitException e) {
+            // kept in failure until a caller can report it
+        }
+    }
+
+    /**
+     * Saves the dirty list, if any; on failure, marks it dirty again and schedules a retry.
+     */
+    private void write() throws OrbitException {
+        TaskList taskList;
+        synchronized (this) {
+            taskList = dirtyList;
+            dirtyList = null;
+            pending = null;
+        }
+        if (taskList == null) {
+            return;
+        }
+        try {
+            storage.saveInBackground(taskList);
+        } catch (OrbitException e) {
+            synchronized (this) {
+                if (dirtyList == null) {
+                    dirtyList = taskList;
+                }
+                failure = e;
+                schedule();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            failure = null;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package voy.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-day bitmaps of busy minutes, built from the events of a task list and reused across
+ * free-time queries.
+ * <p>
+ * Bit {@code m} of a day's bitmap is set when some event covers minute {@code m} of that day.
+ * A day's bitmap is built from the event interval tree the first time it is queried and kept
+ * in a bounded cache. Adding an event sets its bits in the cached days it covers; removing one
+ * drops those days, to be rebuilt on the next query. A recurring event only touches the cached days
+ * it has an occurrence on, so its full series is never expanded.
+ */
+class AvailabilityMap implements TaskIndex {
+    static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+    private static final int MAX_CACHED_DAYS = 400;
+
+    private final EventIntervalTree events;
+    private final Map<LocalDate, long[]> busyDays = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, long[]> eldest) {
+            return size() > MAX_CACHED_DAYS;
+        }
+    };
+
+    /**
+     * Constructs an AvailabilityMap whose days are built from the given events.
+     *
+     * @param events Interval tree of the list's events.
+     */
+    AvailabilityMap(EventIntervalTree events) {
+        this.events = events;
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task.getTaskType() != TaskType.EVENT) {
+            return;
+        }
+        if (task instanceof RecurringEvent) {
+            for (Map.Entry<LocalDate, long[]> cached : busyDays.entrySet()) {
+                LocalDate day = cached.getKey();
+                Iterator<Event> occurrences = occurrencesOn((RecurringEvent) task, day);
+                while (occurrences.hasNext()) {
+                    markBusy(cached.getValue(), day, occurrences.next());
+                }
+            }
+            return;
+        }
+        for (LocalDate day : daysCovered(task)) {
+            long[] busy = busyDays.get(day);
+            if (busy != null) {
+                markBusy(busy, day, task);
+            }
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (task.getTaskType() != TaskType.EVENT) {
+            return;
+        }
+        if (task instanceof RecurringEvent) {
+            busyDays.keySet().removeIf(day -> occurrencesOn((RecurringEvent) task, day).hasNext());
+            return;
+        }
+        for (LocalDate day : daysCovered(task)) {
+            busyDays.remove(day);
+        }
+    }
+
+    private static Iterator<Event> occurrencesOn(RecurringEvent event, LocalDate day) {
+        return event.occurrences(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    private static List<LocalDate> daysCovered(Task event) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate last = event.getEndDate().minusNanos(1).toLocalDate();
+        for (LocalDate day = event.getStartDate().toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    /**
+     * Returns the start of up to {@code limit} free slots of the given length, earliest first,
+     * one per maximal free gap.
+     *
+     * @param from Time from which slots may start.
+     * @param days Number of days searched, starting with the day of {@code from}.
+     * @param dayStart Earliest time of day a slot may start.
+     * @param dayEnd Latest time of day a slot may end.
+     * @param durationMinutes Required slot length in minutes.
+     * @param limit Maximum number of slots returned.
+     * @return Slot start times.
+     */
+    List<LocalDateTime> findSlots(LocalDateTime from, int days, LocalTime dayStart, LocalTime dayEnd,
+            long durationMinutes, int limit) {
+        List<LocalDateTime> slots = new ArrayList<>();
+        if (durationMinutes > MINUTES_PER_DAY) {
+            return slots;
+        }
+        int length = (int) durationMinutes;
+        for (int i = 0; i < days && slots.size() < limit; i++) {
+            LocalDate day = from.toLocalDate().plusDays(i);
+            int windowStart = minuteOfDay(dayStart);
+            int windowEnd = minuteOfDay(dayEnd);
+            if (i == 0) {
+                windowStart = Math.max(windowStart, minuteOfDay(from.toLocalTime()) + (hasSeconds(from) ? 1 : 0));
+            }
+            if (windowEnd - windowStart < length) {
+                continue;
+            }
+
+            long[] free = freeMinutes(getBusy(day), windowStart, windowEnd);
+            long[] runs = runStarts(free, length);
+            int cursor = windowStart;
+            while (slots.size() < limit) {
+                int start = nextSetBit(runs, cursor);
+                if (start < 0) {
+                    break;
+                }
+                slots.add(day.atStartOfDay().plusMinutes(start));
+                cursor = nextClearBit(free, start);
+            }
+        }
+        return slots;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static boolean hasSeconds(LocalDateTime time) {
+        return time.getSecond() != 0 || time.getNano() != 0;
+    }
+
+    private long[] getBusy(LocalDate day) {
+        long[] busy = busyDays.get(day);
+        if (busy == null) {
+            busy = new long[WORDS_PER_DAY];
+            LocalDateTime start = day.atStartOfDay();
+            for (Task event : events.findOccurrences(start, start.plusDays(1))) {
+                markBusy(busy, day, event);
+            }
+            busyDays.put(day, busy);
+        }
+        return busy;
+    }
+
+    /**
+     * Sets the bits of every minute of {@code day} the event covers, counting a partly covered
+     * minute as busy.
+     */
+    private static void markBusy(long[] busy, LocalDate day, Task event) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        long first = Math.max(0, ChronoUnit.MINUTES.between(dayStart, event.getStartDate()));
+        long end = Math.min(MINUTES_PER_DAY, ceilMinutes(dayStart, event.getEndDate()));
+        for (long minute = first; minute < end; minute++) {
+            busy[(int) (minute >>> 6)] |= 1L << minute;
+        }
+    }
+
+    private static long ceilMinutes(LocalDateTime from, LocalDateTime to) {
+        long minutes = ChronoUnit.MINUTES.between(from, to);
+        return from.plusMinutes(minutes).isBefore(to) ? minutes + 1 : minutes;
+    }
+
+    /**
+     * Returns the free minutes of a day, limited to {@code [windowStart, windowEnd)}.
+     */
+    private static long[] freeMinutes(long[] busy, int windowStart, int windowEnd) {
+        long[] free = new long[WORDS_PER_DAY];
+        for (int w = 0; w < WORDS_PER_DAY; w++) {
+            int low = w * Long.SIZE;
+            int high = low + Long.SIZE;
+            if (high <= windowStart || low >= windowEnd) {
+                continue;
+            }
+            long mask = -1L;
+            if (windowStart > low) {
+                mask &= -1L << (windowStart - low);
+            }
+            if (windowEnd < high) {
+                mask &= -1L >>> (high - windowEnd);
+            }
+            free[w] = ~busy[w] & mask;
+        }
+        return free;
+    }
+
+    /**
+     * Returns a bitmap with bit {@code i} set when bits {@code i} to {@code i + length - 1} are all
+     * set in {@code free}. Runs are grown by doubling, so it takes O(log length) word-level passes.
+     */
+    private static long[] runStarts(long[] free, int length) {
+        long[] runs = free.clone();
+        int covered = 1;
+        while (covered < length) {
+            int shift = Math.min(covered, length - covered);
+            andShifted(runs, shift);
+            covered += shift;
+        }
+        return runs;
+    }
+
+    /**
+     * Replaces each bit {@code i} of {@code bits} with {@code bits[i] & bits[i + shift]}.
+     */
+    private static void andShifted(long[] bits, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int w = 0; w < bits.length; w++) {
+            int source = w + wordShift;
+            long low = source < bits.length ? bits[source] : 0;
+            long high = source + 1 < bits.length ? bits[source + 1] : 0;
+            long shifted = bitShift == 0 ? low : (low >>> bitShift) | (high << (Long.SIZE - bitShift));
+            bits[w] &= shifted;
+        }
+    }
+
+    private static int nextSetBit(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) {
+            return -1;
+        }
+        long word = bits[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == bits.length) {
+                return -1;
+            }
+            word = bits[w];
+        }
+        return w * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+
+    private static int nextClearBit(long[] bits, int from) {
+        int w = from >>> 6;
+        long word = ~bits[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == bits.length) {
+                return bits.length * Long.SIZE;
+            }
+            word = ~bits[w];
+        }
+        return w * Long.SIZE + Long.numberOfTrailingZeros(word);
+    }
+}
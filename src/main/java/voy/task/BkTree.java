@@ -0,0 +1,174 @@
+package voy.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree over words, for finding every word within a given Levenshtein distance.
+ * <p>
+ * Each child edge is labelled with the distance between the child and its parent. By the
+ * triangle inequality, a search for words within {@code n} of a query whose distance to a node is
+ * {@code d} only needs to descend edges labelled {@code d - n} to {@code d + n}, so most of the
+ * vocabulary is never compared.
+ * <p>
+ * A removed word stays in the tree as a tombstone, since its node still routes searches to its
+ * children; it is no longer returned, and adding it again revives it. Once tombstones outnumber
+ * the live words, the tree is rebuilt from the live words alone.
+ */
+class BkTree {
+    private Node root;
+    private int liveCount;
+    private int removedCount;
+
+    private static class Node {
+        final String word;
+        final Map<Integer, Node> children = new HashMap<>();
+        boolean isRemoved;
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    /**
+     * Adds a word, unless it is already present.
+     *
+     * @param word Word to add.
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            liveCount++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                if (node.isRemoved) {
+                    node.isRemoved = false;
+                    removedCount--;
+                    liveCount++;
+                }
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                liveCount++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes a word, if present.
+     *
+     * @param word Word to remove.
+     */
+    void remove(String word) {
+        Node node = root;
+        while (node != null) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                if (!node.isRemoved) {
+                    node.isRemoved = true;
+                    liveCount--;
+                    removedCount++;
+                    if (removedCount > liveCount) {
+                        rebuild();
+                    }
+                }
+                return;
+            }
+            node = node.children.get(distance);
+        }
+    }
+
+    private void rebuild() {
+        List<String> words = new ArrayList<>(liveCount);
+        Deque<Node> pending = new ArrayDeque<>();
+        if (root != null) {
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            if (!node.isRemoved) {
+                words.add(node.word);
+            }
+            node.children.values().forEach(pending::push);
+        }
+        root = null;
+        liveCount = 0;
+        removedCount = 0;
+        for (String word : words) {
+            add(word);
+        }
+    }
+
+    /**
+     * Returns the number of words in the tree, counting neither removed words nor duplicates.
+     *
+     * @return Number of live words.
+     */
+    int size() {
+        return liveCount;
+    }
+
+    /**
+     * Returns every word within the given distance of the query, with its distance.
+     *
+     * @param query Word to search for.
+     * @param maxDistance Largest edit distance accepted.
+     * @return Matching words mapped to their distance from {@code query}.
+     */
+    Map<String, Integer> search(String query, int maxDistance) {
+        Map<String, Integer> matches = new HashMap<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.word);
+            if (distance <= maxDistance && !node.isRemoved) {
+                matches.put(node.word, distance);
+            }
+            for (int d = Math.max(1, distance - maxDistance); d <= distance + maxDistance; d++) {
+                Node child = node.children.get(d);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words.
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
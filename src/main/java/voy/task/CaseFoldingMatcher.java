@@ -0,0 +1,42 @@
+package voy.task;
+
+/**
+ * Tests whether text contains a keyword, ignoring case, without allocating upper-cased copies.
+ * Characters are compared one at a time as {@link String#regionMatches(boolean, int, String, int, int)}
+ * does, so case mappings that change length (such as {@code ß} to {@code SS}) are not folded.
+ */
+class CaseFoldingMatcher {
+    private final String keyword;
+    private final char firstUpper;
+    private final char firstLower;
+
+    /**
+     * Constructs a matcher for the given keyword.
+     *
+     * @param keyword Non-empty keyword to look for.
+     */
+    CaseFoldingMatcher(String keyword) {
+        assert !keyword.isEmpty() : "Keyword must not be empty";
+        this.keyword = keyword;
+        this.firstUpper = Character.toUpperCase(keyword.charAt(0));
+        this.firstLower = Character.toLowerCase(keyword.charAt(0));
+    }
+
+    /**
+     * Returns whether the text contains the keyword, ignoring case.
+     *
+     * @param text Text to search.
+     * @return true if the keyword occurs in the text.
+     */
+    boolean matches(String text) {
+        int last = text.length() - keyword.length();
+        for (int i = 0; i <= last; i++) {
+            char c = text.charAt(i);
+            if ((c == firstUpper || c == firstLower || Character.toUpperCase(c) == firstUpper)
+                    && text.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,221 @@
+package voy.task;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A task list that may be used from several threads at once, such as the UI thread running
+ * commands while a background writer saves.
+ * <p>
+ * Writers hold the write lock. Positional reads hold the read lock, so they run alongside each
+ * other. {@link #snapshot()} returns an immutable list that is built once after each change and
+ * then shared by every reader, so listing and saving never copy the list again or block each
+ * other. Searches also hold the write lock, because they build and cache their indexes on first
+ * use.
+ * <p>
+ * A snapshot holds the live task objects. Membership and order are fixed when it is taken, but
+ * a done flag read through it may be newer.
+ * <p>
+ * Changes are offered to subscribers of {@link #changes()} only once the write lock is released.
+ */
+public class ConcurrentTaskList extends TaskList {
+    /** Reentrant because methods of the list call one another, e.g. a query plan reads {@link #size()}. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Tasks as of the last change, or null until the next {@link #snapshot()}. */
+    private volatile List<Task> snapshot;
+
+    @Override
+    public List<Task> snapshot() {
+        List<Task> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return read(() -> {
+            // writers are excluded while the read lock is held, so no change can slip in before the store
+            List<Task> built = snapshot;
+            if (built == null) {
+                built = Collections.unmodifiableList(super.getTasks());
+                snapshot = built;
+            }
+            return built;
+        });
+    }
+
+    @Override
+    public ArrayList<Task> getTasks() {
+        return new ArrayList<>(snapshot());
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return read(() -> super.getTask(index));
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        return read(() -> super.indexOfId(id));
+    }
+
+    @Override
+    public int[] indexesOf(List<Task> selected) {
+        return read(() -> super.indexesOf(selected));
+    }
+
+    @Override
+    public long getNextId() {
+        return read(super::getNextId);
+    }
+
+    @Override
+    public int size() {
+        return read(super::size);
+    }
+
+    @Override
+    public void reserveIds(long nextId) {
+        exclusive(() -> {
+            super.reserveIds(nextId);
+            return null;
+        });
+    }
+
+    @Override
+    public void addTask(Task task, long id) {
+        mutate(() -> {
+            super.addTask(task, id);
+            return null;
+        });
+    }
+
+    @Override
+    public void addTask(Task task) {
+        mutate(() -> {
+            super.addTask(task);
+            return null;
+        });
+    }
+
+    @Override
+    public Task removeTask(int index) {
+        return mutate(() -> super.removeTask(index));
+    }
+
+    @Override
+    public List<Task> removeTasks(int[] indexes) {
+        return mutate(() -> super.removeTasks(indexes));
+    }
+
+    @Override
+    public void removeIf(Predicate<Task> condition) {
+        mutate(() -> {
+            super.removeIf(condition);
+            return null;
+        });
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        // membership is unchanged, so the current snapshot stays valid
+        return exclusive(() -> super.setDone(index, isDone));
+    }
+
+    @Override
+    public void setParallelScanThreshold(int threshold) {
+        exclusive(() -> {
+            super.setParallelScanThreshold(threshold);
+            return null;
+        });
+    }
+
+    @Override
+    public ArrayList<Task> filter(String keyword) {
+        return exclusive(() -> super.filter(keyword));
+    }
+
+    @Override
+    public ArrayList<Task> fuzzyFilter(String keyword, int limit) {
+        return exclusive(() -> super.fuzzyFilter(keyword, limit));
+    }
+
+    @Override
+    public ArrayList<Task> query(TaskQuery query) {
+        return exclusive(() -> super.query(query));
+    }
+
+    @Override
+    public ArrayList<Task> findOverlappingEvents(LocalDateTime from, LocalDateTime to) {
+        return exclusive(() -> super.findOverlappingEvents(from, to));
+    }
+
+    @Override
+    public ArrayList<Task> findOverlappingEventTasks(LocalDateTime from, LocalDateTime to) {
+        return exclusive(() -> super.findOverlappingEventTasks(from, to));
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(LocalDateTime from, int days, LocalTime dayStart, LocalTime dayEnd,
+            long durationMinutes, int limit) {
+        return exclusive(() -> super.findFreeSlots(from, days, dayStart, dayEnd, durationMinutes, limit));
+    }
+
+    @Override
+    public ArrayList<Task> upcoming(LocalDateTime from, int limit) {
+        return exclusive(() -> super.upcoming(from, limit));
+    }
+
+    @Override
+    public ArrayList<Task> overdue(LocalDateTime now) {
+        return exclusive(() -> super.overdue(now));
+    }
+
+    @Override
+    boolean isHoldingChanges() {
+        return lock.isWriteLockedByCurrentThread();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T exclusive(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+            publishOnceUnlocked();
+        }
+    }
+
+    /**
+     * Runs a change to the tasks in the list under the write lock, then drops the snapshot.
+     */
+    private <T> T mutate(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            snapshot = null;
+            lock.writeLock().unlock();
+            publishOnceUnlocked();
+        }
+    }
+
+    private void publishOnceUnlocked() {
+        // a nested call returns to an outer one that still holds the lock and publishes when it releases it
+        if (!lock.isWriteLockedByCurrentThread()) {
+            publishHeldChanges();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package voy.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Tasks ordered by date: the due date of a deadline or the start of an event.
+ * Todos have no date and are not indexed.
+ */
+class DateIndex implements TaskIndex {
+    private final TreeMap<LocalDateTime, List<Task>> byDate = new TreeMap<>();
+
+    /**
+     * Returns the date a task is indexed and queried by.
+     *
+     * @param task Task to date.
+     * @return Deadline or event start, or null for tasks without a date.
+     */
+    static LocalDateTime dateOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getDeadline();
+        }
+        return task.getStartDate();
+    }
+
+    @Override
+    public void add(Task task) {
+        LocalDateTime date = dateOf(task);
+        if (date != null) {
+            Postings.insert(byDate.computeIfAbsent(date, key -> new ArrayList<>(1)), task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        LocalDateTime date = dateOf(task);
+        List<Task> tasks = date == null ? null : byDate.get(date);
+        if (tasks == null) {
+            return;
+        }
+        Postings.remove(tasks, task);
+        if (tasks.isEmpty()) {
+            byDate.remove(date);
+        }
+    }
+
+    /**
+     * Counts the tasks dated in {@code [from, to)}, stopping once the count exceeds {@code limit}.
+     *
+     * @param from Inclusive lower bound, or null for no lower bound.
+     * @param to Exclusive upper bound, or null for no upper bound.
+     * @param limit Count beyond which counting stops.
+     * @return Number of tasks in range, or a number greater than {@code limit}.
+     */
+    int count(LocalDateTime from, LocalDateTime to, int limit) {
+        int count = 0;
+        for (List<Task> tasks : range(from, to).values()) {
+            count += tasks.size();
+            if (count > limit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the tasks dated in {@code [from, to)}.
+     *
+     * @param from Inclusive lower bound, or null for no lower bound.
+     * @param to Exclusive upper bound, or null for no upper bound.
+     * @return Tasks in range, in list order.
+     */
+    List<Task> find(LocalDateTime from, LocalDateTime to) {
+        List<Task> hits = new ArrayList<>();
+        for (List<Task> tasks : range(from, to).values()) {
+            hits.addAll(tasks);
+        }
+        hits.sort(Comparator.comparingLong(Task::getSequence));
+        return hits;
+    }
+
+    /**
+     * Returns the first tasks dated in {@code [from, to)} in date order, walking only as far as needed.
+     *
+     * @param from Inclusive lower bound, or null for no lower bound.
+     * @param to Exclusive upper bound, or null for no upper bound.
+     * @param limit Maximum number of tasks returned.
+     * @return Tasks in date order, ties in list order.
+     */
+    List<Task> first(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Task> hits = new ArrayList<>();
+        for (List<Task> tasks : range(from, to).values()) {
+            for (Task task : tasks) {
+                if (hits.size() == limit) {
+                    return hits;
+                }
+                hits.add(task);
+            }
+        }
+        return hits;
+    }
+
+    private NavigableMap<LocalDateTime, List<Task>> range(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            // headMap of the tail would throw for a bound before its start, and nothing lies in between
+            return Collections.emptyNavigableMap();
+        }
+        NavigableMap<LocalDateTime, List<Task>> range = byDate;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, false);
+        }
+        return range;
+    }
+}
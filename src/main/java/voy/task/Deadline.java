@@ -4,9 +4,10 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a task with a deadline.
+ * The deadline is kept as seconds since the epoch; see {@link EpochSeconds}.
  */
 public class Deadline extends Task {
-    protected LocalDateTime deadline;
+    protected final long deadlineSecond;
 
     /**
      * Constructs a Deadline task.
@@ -17,12 +18,16 @@ public class Deadline extends Task {
     public Deadline(String description, LocalDateTime deadline) {
         super(description);
         assert deadline != null : "Deadline datetime must not be null";
-        this.deadline = deadline;
+        this.deadlineSecond = EpochSeconds.of(deadline);
+    }
+
+    public LocalDateTime getDeadline() {
+        return EpochSeconds.toDateTime(deadlineSecond);
     }
 
     @Override
     public String toString() {
-        return "[ 𝐃 ]" + super.toString() + " (by: " + displayDateTime(deadline) + ")";
+        return "[ 𝐃 ]" + super.toString() + " (by: " + displayDateTime(getDeadline()) + ")";
     }
 
     @Override
@@ -32,7 +37,7 @@ public class Deadline extends Task {
 
     @Override
     public String toFileString() {
-        return "D" + super.toFileString() + " | " + deadline;
+        return "D" + super.toFileString() + " | " + getDeadline();
     }
 
     /**
@@ -0,0 +1,15 @@
+package voy.task;
+
+/**
+ * Supplies the descriptions of tasks whose text is left in storage until it is needed.
+ */
+public interface DescriptionSource {
+
+    /**
+     * Returns the description identified by the given key.
+     *
+     * @param key Opaque key handed to {@link Task#setDescriptionSource(DescriptionSource, long)}.
+     * @return The task description.
+     */
+    String load(long key);
+}
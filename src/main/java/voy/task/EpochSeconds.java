@@ -0,0 +1,31 @@
+package voy.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions between local date-times and the seconds since the epoch that tasks store them as.
+ * <p>
+ * A {@link LocalDateTime} is three objects, about 72 bytes; a task keeps a primitive {@code long}
+ * instead and creates the date-time when asked. Local times are counted as if they were UTC,
+ * so no time zone is involved. Sub-second precision is dropped.
+ */
+final class EpochSeconds {
+    private EpochSeconds() {
+    }
+
+    static long of(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the first whole second at or after the given date-time.
+     */
+    static long ceil(LocalDateTime dateTime) {
+        return of(dateTime) + (dateTime.getNano() > 0 ? 1 : 0);
+    }
+
+    static LocalDateTime toDateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+}
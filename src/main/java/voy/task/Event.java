@@ -5,10 +5,11 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a task that occurs within a specific time period.
+ * Start and end are kept as seconds since the epoch; see {@link EpochSeconds}.
  */
 public class Event extends Task {
-    protected LocalDateTime endDate;
-    protected LocalDateTime startDate;
+    protected final long endSecond;
+    protected final long startSecond;
 
     /**
      * Constructs an Event task.
@@ -23,15 +24,15 @@ public class Event extends Task {
         assert endDate != null : "Event end must not be null";
         assert !endDate.isBefore(startDate) : "Event end must not be before start";
 
-        this.startDate = startDate;
-        this.endDate = endDate;
+        this.startSecond = EpochSeconds.of(startDate);
+        this.endSecond = EpochSeconds.of(endDate);
     }
 
     @Override
     public String toString() {
         return "[ 𝐄 ]" + super.toString()
-                + " (from: " + displayDateTime(startDate)
-                + " to: " + displayDateTime(endDate) + ")";
+                + " (from: " + displayDateTime(getStartDate())
+                + " to: " + displayDateTime(getEndDate()) + ")";
     }
 
     @Override
@@ -41,7 +42,7 @@ public class Event extends Task {
 
     @Override
     public String toFileString() {
-        return "E" + super.toFileString() + " | " + startDate + " | " + endDate;
+        return "E" + super.toFileString() + " | " + getStartDate() + " | " + getEndDate();
     }
     /**
      * Formats a {@link LocalDateTime} for display to the user.
@@ -56,10 +57,10 @@ public class Event extends Task {
     }
 
     public LocalDateTime getStartDate() {
-        return startDate;
+        return EpochSeconds.toDateTime(startSecond);
     }
 
     public LocalDateTime getEndDate() {
-        return endDate;
+        return EpochSeconds.toDateTime(endSecond);
     }
 }
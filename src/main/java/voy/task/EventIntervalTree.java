@@ -0,0 +1,183 @@
+package voy.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree over the events of a task list, for finding every event overlapping a time window.
+ * <p>
+ * Events are kept in a treap ordered by start time (ties broken by list order), where each node
+ * also records the latest end time in its subtree. A window query skips every subtree whose latest
+ * end is not after the window start and stops descending right once starts pass the window end,
+ * so it visits O(log n + k) nodes in expectation for k results.
+ * <p>
+ * A recurring event is stored once, spanning from its first start to its last end.
+ */
+class EventIntervalTree implements TaskIndex {
+    private Node root;
+
+    /** Node of the treap; times are seconds since the epoch, as stored by {@link Event}. */
+    private static class Node {
+        final Event event;
+        final long start;
+        final long end;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(Event event) {
+            this.event = event;
+            this.start = event.startSecond;
+            this.end = event instanceof RecurringEvent
+                    ? EpochSeconds.of(((RecurringEvent) event).getSeriesEnd())
+                    : event.endSecond;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task.getTaskType() != TaskType.EVENT) {
+            return;
+        }
+        Node node = new Node((Event) task);
+        Node[] parts = split(root, node.start, task.getSequence());
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (task.getTaskType() != TaskType.EVENT) {
+            return;
+        }
+        long start = ((Event) task).startSecond;
+        Node[] lower = split(root, start, task.getSequence());
+        Node[] upper = split(lower[1], start, task.getSequence() + 1);
+        root = merge(lower[0], upper[1]);
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before {@code (start, sequence)} and the rest.
+     */
+    private static Node[] split(Node node, long start, long sequence) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (isBefore(node, start, sequence)) {
+            Node[] parts = split(node.right, start, sequence);
+            node.right = parts[0];
+            node.update();
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, start, sequence);
+        node.left = parts[1];
+        node.update();
+        return new Node[] { parts[0], node };
+    }
+
+    private static boolean isBefore(Node node, long start, long sequence) {
+        return node.start < start || (node.start == start && node.event.getSequence() < sequence);
+    }
+
+    /**
+     * Joins two treaps, where every node of {@code left} is ordered before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    /**
+     * Returns the events overlapping {@code [from, to)}, i.e. starting before {@code to} and
+     * ending after {@code from}. Events that only touch the window are not included.
+     *
+     * @param from Window start.
+     * @param to Window end.
+     * @return Overlapping events ordered by start time.
+     */
+    List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<Task> hits = new ArrayList<>();
+        collect(root, EpochSeconds.of(from), EpochSeconds.ceil(to), hits);
+        return hits;
+    }
+
+    /**
+     * Returns the event occurrences overlapping {@code [from, to)}. Plain events are returned as is;
+     * recurring events contribute one event per occurrence inside the window, expanded lazily.
+     *
+     * @param from Window start.
+     * @param to Window end.
+     * @return Overlapping occurrences ordered by start time.
+     */
+    List<Task> findOccurrences(LocalDateTime from, LocalDateTime to) {
+        List<Task> hits = findOverlapping(from, to);
+        List<Task> occurrences = new ArrayList<>(hits.size());
+        boolean isExpanded = false;
+        for (Task hit : hits) {
+            if (hit instanceof RecurringEvent) {
+                ((RecurringEvent) hit).occurrences(from, to).forEachRemaining(occurrences::add);
+                isExpanded = true;
+            } else {
+                occurrences.add(hit);
+            }
+        }
+        if (isExpanded) {
+            occurrences.sort(Comparator.comparing(Task::getStartDate));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns the events with an occurrence overlapping {@code [from, to)}, each once and as stored:
+     * a recurring event is returned as the series, without expanding its occurrences.
+     *
+     * @param from Window start.
+     * @param to Window end.
+     * @return Overlapping events ordered by the start of their first occurrence.
+     */
+    List<Task> findOccurring(LocalDateTime from, LocalDateTime to) {
+        List<Task> hits = findOverlapping(from, to);
+        hits.removeIf(hit -> hit instanceof RecurringEvent && !((RecurringEvent) hit).occurrences(from, to).hasNext());
+        return hits;
+    }
+
+    private static void collect(Node node, long from, long to, List<Task> hits) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, hits);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            hits.add(node.event);
+        }
+        collect(node.right, from, to, hits);
+    }
+}
@@ -0,0 +1,43 @@
+package voy.task;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents how often a {@link RecurringEvent} repeats.
+ */
+public enum Frequency {
+    DAILY(ChronoUnit.DAYS, "day"),
+    WEEKLY(ChronoUnit.WEEKS, "week"),
+    MONTHLY(ChronoUnit.MONTHS, "month");
+
+    private final ChronoUnit unit;
+    private final String noun;
+
+    Frequency(ChronoUnit unit, String noun) {
+        this.unit = unit;
+        this.noun = noun;
+    }
+
+    /**
+     * Returns the frequency named by a user-facing word such as {@code week} or {@code weekly}.
+     *
+     * @param word Word to look up, in any case.
+     * @return Matching frequency, or null if none matches.
+     */
+    public static Frequency fromWord(String word) {
+        for (Frequency frequency : values()) {
+            if (frequency.noun.equalsIgnoreCase(word) || frequency.name().equalsIgnoreCase(word)) {
+                return frequency;
+            }
+        }
+        return null;
+    }
+
+    ChronoUnit getUnit() {
+        return unit;
+    }
+
+    String getNoun() {
+        return noun;
+    }
+}
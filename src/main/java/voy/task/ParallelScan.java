@@ -0,0 +1,72 @@
+package voy.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Filters a task list by splitting it into spliterator chunks that are tested in parallel
+ * on a dedicated {@link ForkJoinPool}. Results are joined left to right, so matches keep
+ * their list order.
+ */
+class ParallelScan {
+    /** Chunks smaller than this are scanned on the current thread. */
+    private static final int MIN_CHUNK_SIZE = 4096;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private ParallelScan() {
+    }
+
+    /**
+     * Returns the tasks satisfying the condition, in list order.
+     *
+     * @param tasks Tasks to scan; must not be modified during the scan.
+     * @param condition Condition to test; must be safe to call from several threads.
+     * @return Matching tasks.
+     */
+    static ArrayList<Task> filter(List<Task> tasks, Predicate<Task> condition) {
+        return POOL.invoke(new Chunk(tasks.spliterator(), condition));
+    }
+
+    /**
+     * Scans one part of the list, splitting it further while it is large.
+     */
+    private static class Chunk extends RecursiveTask<ArrayList<Task>> {
+        // ForkJoinTask is Serializable, but chunks are never serialized
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<Task> spliterator;
+        private final Predicate<Task> condition;
+
+        Chunk(Spliterator<Task> spliterator, Predicate<Task> condition) {
+            this.spliterator = spliterator;
+            this.condition = condition;
+        }
+
+        @Override
+        protected ArrayList<Task> compute() {
+            if (spliterator.estimateSize() > MIN_CHUNK_SIZE) {
+                Spliterator<Task> prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    Chunk left = new Chunk(prefix, condition);
+                    left.fork();
+                    ArrayList<Task> right = compute();
+                    ArrayList<Task> hits = left.join();
+                    hits.addAll(right);
+                    return hits;
+                }
+            }
+            ArrayList<Task> hits = new ArrayList<>();
+            spliterator.forEachRemaining(task -> {
+                if (condition.test(task)) {
+                    hits.add(task);
+                }
+            });
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package voy.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Date index over the tasks of one type that are not done yet.
+ * <p>
+ * Marking a task done or not done moves it out of or into the index, so reading the next
+ * pending tasks never skips over completed ones.
+ * <p>
+ * A recurring event has no single date, so it is kept apart from the dated tasks and placed at its
+ * next occurrence each time the first pending tasks are read. Only {@link #first} sees recurring
+ * events.
+ */
+class PendingDateIndex extends DateIndex {
+    private final TaskType type;
+    /** Pending recurring events, in list order. */
+    private final List<Task> series = new ArrayList<>();
+
+    /**
+     * Constructs a PendingDateIndex.
+     *
+     * @param type Type of the tasks indexed.
+     */
+    PendingDateIndex(TaskType type) {
+        this.type = type;
+    }
+
+    @Override
+    public void add(Task task) {
+        if (!isIndexed(task)) {
+            return;
+        }
+        if (task instanceof RecurringEvent) {
+            Postings.insert(series, task);
+        } else {
+            super.add(task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (!isIndexed(task)) {
+            return;
+        }
+        if (task instanceof RecurringEvent) {
+            Postings.remove(series, task);
+        } else {
+            super.remove(task);
+        }
+    }
+
+    /**
+     * Returns the first pending tasks dated in {@code [from, to)} in date order, placing each
+     * recurring event at its first occurrence starting at or after {@code from}. Every recurring
+     * event is checked on each call, in constant time each.
+     *
+     * @param from Inclusive lower bound, or null for no lower bound.
+     * @param to Exclusive upper bound, or null for no upper bound.
+     * @param limit Maximum number of tasks returned.
+     * @return Tasks in date order, ties in list order.
+     */
+    @Override
+    List<Task> first(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Task> dated = super.first(from, to, limit);
+        if (series.isEmpty()) {
+            return dated;
+        }
+        List<Task> hits = new ArrayList<>(dated);
+        for (Task task : series) {
+            LocalDateTime next = nextDate(task, from);
+            if (next != null && (to == null || next.isBefore(to))) {
+                hits.add(task);
+            }
+        }
+        hits.sort(Comparator.comparing((Task task) -> nextDate(task, from)).thenComparingLong(Task::getSequence));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    /**
+     * Returns the date at which a task is placed among the tasks from the given time on.
+     *
+     * @param task Dated task.
+     * @param from Time from which tasks are read, or null for no lower bound.
+     * @return Next occurrence start of a recurring event, otherwise the date of the task;
+     *         null if a recurring event has no occurrence left.
+     */
+    static LocalDateTime nextDate(Task task, LocalDateTime from) {
+        if (task instanceof RecurringEvent && from != null) {
+            return ((RecurringEvent) task).nextStart(from);
+        }
+        return dateOf(task);
+    }
+
+    private boolean isIndexed(Task task) {
+        return task.getTaskType() == type && !task.isDone();
+    }
+}
@@ -0,0 +1,71 @@
+package voy.task;
+
+import java.util.List;
+
+/**
+ * Helpers for posting lists: lists of tasks kept sorted by {@link Task#getSequence()}.
+ */
+final class Postings {
+    private Postings() {
+    }
+
+    /**
+     * Binary-searches a posting list for the task with the given sequence number.
+     *
+     * @param tasks Posting list.
+     * @param sequence Sequence number to look for.
+     * @return Position of the task, or -1 if it is not in the list.
+     */
+    static int indexOf(List<Task> tasks, long sequence) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midSequence = tasks.get(mid).getSequence();
+            if (midSequence < sequence) {
+                low = mid + 1;
+            } else if (midSequence > sequence) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a task from a posting list, if present.
+     *
+     * @param tasks Posting list.
+     * @param task Task to remove.
+     */
+    static void remove(List<Task> tasks, Task task) {
+        int position = indexOf(tasks, task.getSequence());
+        if (position >= 0) {
+            tasks.remove(position);
+        }
+    }
+
+    /**
+     * Inserts a task into a posting list at the position given by its sequence number.
+     * Tasks added in list order are appended without searching.
+     *
+     * @param tasks Posting list.
+     * @param task Task to insert.
+     */
+    static void insert(List<Task> tasks, Task task) {
+        int low = 0;
+        int high = tasks.size();
+        if (high > 0 && tasks.get(high - 1).getSequence() > task.getSequence()) {
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (tasks.get(mid).getSequence() < task.getSequence()) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+        }
+        tasks.add(high, task);
+    }
+}
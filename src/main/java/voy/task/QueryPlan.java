@@ -0,0 +1,102 @@
+package voy.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates a {@link TaskQuery} by fetching candidates through its most selective access path
+ * and testing only those candidates against the full query.
+ * <p>
+ * Each available path is costed by the number of candidates it would produce: the size of the
+ * type bucket, the number of tasks in the date range, or the shortest trigram posting list of a
+ * text condition. A full scan is used when no path beats the list size.
+ */
+class QueryPlan {
+    /**
+     * Ways of producing candidate tasks.
+     */
+    enum AccessPath {
+        SCAN,
+        TYPE,
+        DATE,
+        TEXT
+    }
+
+    private final TaskQuery query;
+    private AccessPath accessPath = AccessPath.SCAN;
+    private int estimate;
+    private String text;
+
+    private QueryPlan(TaskQuery query, int listSize) {
+        this.query = query;
+        this.estimate = listSize;
+    }
+
+    /**
+     * Chooses the access path for the query over the given list.
+     *
+     * @param query Query to plan.
+     * @param taskList List to query; its indexes are built as needed.
+     * @return The cheapest plan found.
+     */
+    static QueryPlan plan(TaskQuery query, TaskList taskList) {
+        QueryPlan plan = new QueryPlan(query, taskList.size());
+        if (query.getType() != null) {
+            plan.consider(AccessPath.TYPE, taskList.getTypeIndex().tasksOf(query.getType()).size(), null);
+        }
+        for (String text : query.getTexts()) {
+            if (text.length() >= TrigramIndex.GRAM_LENGTH) {
+                plan.consider(AccessPath.TEXT, taskList.getTrigramIndex().estimate(text), text);
+            }
+        }
+        if (query.hasDateRange()) {
+            int count = taskList.getDateIndex().count(query.getAfter(), query.getBefore(), plan.estimate);
+            plan.consider(AccessPath.DATE, count, null);
+        }
+        return plan;
+    }
+
+    private void consider(AccessPath path, int candidates, String pathText) {
+        if (candidates < estimate) {
+            accessPath = path;
+            estimate = candidates;
+            text = pathText;
+        }
+    }
+
+    AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Runs the plan.
+     *
+     * @param taskList List the plan was made for.
+     * @return Matching tasks in list order.
+     */
+    ArrayList<Task> execute(TaskList taskList) {
+        if (accessPath == AccessPath.SCAN) {
+            return taskList.scan(query::matches);
+        }
+
+        List<Task> candidates;
+        switch (accessPath) {
+        case TYPE:
+            candidates = taskList.getTypeIndex().tasksOf(query.getType());
+            break;
+        case TEXT:
+            candidates = taskList.getTrigramIndex().find(text);
+            break;
+        default:
+            candidates = taskList.getDateIndex().find(query.getAfter(), query.getBefore());
+        }
+
+        ArrayList<Task> hits = new ArrayList<>();
+        for (Task task : candidates) {
+            if (query.matches(task)) {
+                hits.add(task);
+            }
+        }
+        return hits;
+    }
+}
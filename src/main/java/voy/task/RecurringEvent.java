@@ -0,0 +1,152 @@
+package voy.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents an event that repeats daily, weekly or monthly until a given date.
+ * <p>
+ * The series is stored as a single task whose start and end are those of its first occurrence.
+ * Occurrences are never materialised as a whole; {@link #occurrences(LocalDateTime, LocalDateTime)}
+ * computes the first one overlapping a window directly and steps through the window from there.
+ */
+public class RecurringEvent extends Event {
+    private static final DateTimeFormatter DISPLAY_DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
+
+    private final Frequency frequency;
+    private final LocalDate until;
+    private final Duration length;
+
+    /**
+     * Constructs a RecurringEvent.
+     *
+     * @param description Description of the event.
+     * @param startDate Start date and time of the first occurrence.
+     * @param endDate End date and time of the first occurrence.
+     * @param frequency How often the event repeats.
+     * @param until Last date on which an occurrence may start.
+     */
+    public RecurringEvent(String description, LocalDateTime startDate, LocalDateTime endDate, Frequency frequency,
+            LocalDate until) {
+        super(description, startDate, endDate);
+        assert frequency != null : "Recurrence frequency must not be null";
+        assert !until.isBefore(startDate.toLocalDate()) : "Recurrence must not end before it starts";
+
+        this.frequency = frequency;
+        this.until = until;
+        this.length = Duration.between(startDate, endDate);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Returns the end of the last occurrence.
+     *
+     * @return End date and time of the series.
+     */
+    public LocalDateTime getSeriesEnd() {
+        // the estimate can be one short when a monthly start is clamped to a shorter month
+        long last = frequency.getUnit().between(getStartDate(), until.plusDays(1).atStartOfDay());
+        while (occurrenceStart(last).toLocalDate().isAfter(until)) {
+            last--;
+        }
+        while (!occurrenceStart(last + 1).toLocalDate().isAfter(until)) {
+            last++;
+        }
+        return occurrenceStart(last).plus(length);
+    }
+
+    /**
+     * Returns the start of the first occurrence starting at or after the given time.
+     *
+     * @param from Earliest start.
+     * @return Start date and time, or null if the series has no occurrence starting that late.
+     */
+    public LocalDateTime nextStart(LocalDateTime from) {
+        LocalDateTime start = getStartDate();
+        // the unit count is never too high, and at most one short for a monthly start clamped to a shorter month
+        long index = from.isAfter(start) ? frequency.getUnit().between(start, from) : 0;
+        while (occurrenceStart(index).isBefore(from)) {
+            index++;
+        }
+        LocalDateTime next = occurrenceStart(index);
+        return next.toLocalDate().isAfter(until) ? null : next;
+    }
+
+    /**
+     * Returns the occurrences overlapping {@code [from, to)}, earliest first, each as a plain event.
+     * Occurrences are computed as the iterator advances.
+     *
+     * @param from Window start.
+     * @param to Window end.
+     * @return Iterator over the overlapping occurrences.
+     */
+    public Iterator<Event> occurrences(LocalDateTime from, LocalDateTime to) {
+        // every occurrence starting at or before this point ends at or before from
+        LocalDateTime start = getStartDate();
+        LocalDateTime endsBefore = from.minus(length);
+        long first = endsBefore.isAfter(start) ? frequency.getUnit().between(start, endsBefore) : 0;
+        return new Iterator<>() {
+            private long index = first;
+            private Event next = advance();
+
+            private Event advance() {
+                while (true) {
+                    LocalDateTime start = occurrenceStart(index);
+                    if (start.toLocalDate().isAfter(until) || !start.isBefore(to)) {
+                        return null;
+                    }
+                    index++;
+                    LocalDateTime end = start.plus(length);
+                    if (end.isAfter(from)) {
+                        return new Event(getDescription(), start, end);
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Event next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Event current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Returns the start of the occurrence with the given index, counted from the original start so
+     * that monthly events keep their day of month after a shorter month.
+     */
+    private LocalDateTime occurrenceStart(long index) {
+        return getStartDate().plus(index, frequency.getUnit());
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " (every " + frequency.getNoun() + " until "
+                + until.format(DISPLAY_DATE_FORMAT) + ")";
+    }
+
+    @Override
+    public String toFileString() {
+        return "R" + super.toFileString().substring(1) + " | " + frequency + " | " + until;
+    }
+}
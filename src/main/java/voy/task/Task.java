@@ -8,8 +8,14 @@ import java.time.LocalDateTime;
  */
 public class Task {
     protected String description;
-    protected boolean isDone;
+    /** Volatile so readers of a {@link ConcurrentTaskList} snapshot see the latest flag. */
+    protected volatile boolean isDone;
     protected TaskType taskType;
+    private DescriptionSource descriptionSource;
+    private long descriptionKey;
+    private long sequence;
+    /** When the task was marked done, in epoch seconds, or 0 while it is not done. */
+    private long doneSecond;
 
     /**
      * Constructs a task with the given description.
@@ -36,9 +42,25 @@ public class Task {
      * @return Task description.
      */
     public String getDescription() {
+        if (description == null && descriptionSource != null) {
+            return descriptionSource.load(descriptionKey);
+        }
         return description;
     }
 
+    /**
+     * Drops the description held in memory; later calls to {@link #getDescription()} read it
+     * from the given source instead.
+     *
+     * @param source Source that can supply the description.
+     * @param key Key identifying the description within {@code source}.
+     */
+    public void setDescriptionSource(DescriptionSource source, long key) {
+        this.description = null;
+        this.descriptionSource = source;
+        this.descriptionKey = key;
+    }
+
     /**
      * Checks whether the task is completed.
      *
@@ -49,9 +71,21 @@ public class Task {
     }
 
     /**
-     * Marks the task as completed.
+     * Marks the task as completed now. A task already done keeps its completion time.
      */
     public void markAsDone() {
+        if (!isDone) {
+            markAsDone(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Marks the task as completed at the given time, such as one read back from storage.
+     *
+     * @param completedAt Time the task was completed.
+     */
+    public void markAsDone(LocalDateTime completedAt) {
+        doneSecond = EpochSeconds.of(completedAt);
         isDone = true;
     }
 
@@ -60,6 +94,40 @@ public class Task {
      */
     public void markAsNotDone() {
         isDone = false;
+        doneSecond = 0;
+    }
+
+    /**
+     * Returns when the task was marked done. Tasks loaded as done without a recorded time count
+     * as completed when they were loaded.
+     *
+     * @return Completion time, or null if the task is not done.
+     */
+    public LocalDateTime getCompletedAt() {
+        return isDone ? EpochSeconds.toDateTime(doneSecond) : null;
+    }
+
+    /**
+     * Returns the ID of the task, assigned by the {@link TaskList} it was added to.
+     *
+     * @return Task ID, or 0 if the task has not been added to a list.
+     */
+    public long getId() {
+        return sequence;
+    }
+
+    /**
+     * Returns the position at which this task was added to its list, relative to other tasks.
+     * This is the task's ID, which increases along the list.
+     *
+     * @return Insertion sequence number assigned by {@link TaskList}.
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
     }
 
     /**
@@ -69,7 +137,7 @@ public class Task {
      */
     @Override
     public String toString() {
-        return " " + getStatusIcon() + " " + description;
+        return " " + getStatusIcon() + " " + getDescription();
     }
 
     /**
@@ -87,7 +155,7 @@ public class Task {
      * @return File-formatted task string.
      */
     public String toFileString() {
-        return " | " + (isDone ? "1" : "0") + " | " + description;
+        return " | " + (isDone ? "1" : "0") + " | " + getDescription();
     }
 
     public LocalDateTime getEndDate() {
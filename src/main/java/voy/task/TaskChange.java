@@ -0,0 +1,67 @@
+package voy.task;
+
+/**
+ * A single change to a task list, as published by {@link TaskList#changes()}.
+ * <p>
+ * Positions are those of the change applied on its own: applying the changes of a list in order to
+ * a copy of its earlier contents, by position, yields its current contents.
+ */
+public class TaskChange {
+    /**
+     * Kinds of change to a task list.
+     */
+    public enum Kind {
+        /** A task was inserted at the position. */
+        ADDED,
+        /** The task at the position was removed. */
+        REMOVED,
+        /** The task at the position was marked as done or not done. */
+        UPDATED
+    }
+
+    private final Kind kind;
+    private final Task task;
+    private final int position;
+    private final boolean isDone;
+
+    /**
+     * Constructs a TaskChange.
+     *
+     * @param kind Kind of change.
+     * @param task Task added, removed or updated.
+     * @param position Zero-based position of the task in the list when the change was made.
+     */
+    TaskChange(Kind kind, Task task, int position) {
+        this.kind = kind;
+        this.task = task;
+        this.position = position;
+        this.isDone = task.isDone();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns whether the task was done right after the change. The task itself may have been
+     * marked or unmarked again by the time the change is delivered.
+     *
+     * @return true if the task was done when the change was made.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " #" + task.getId() + " at " + position;
+    }
+}
@@ -0,0 +1,21 @@
+package voy.task;
+
+/**
+ * A secondary index over the tasks of a {@link TaskList}, kept current by every mutation.
+ */
+interface TaskIndex {
+
+    /**
+     * Adds a task to the index. Tasks are added in list order.
+     *
+     * @param task Task to index.
+     */
+    void add(Task task);
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task Task to remove.
+     */
+    void remove(Task task);
+}
@@ -1,19 +1,136 @@
 package voy.task;
 
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Predicate;
+
+import voy.exception.OrbitException;
 
 /**
  * Represents a list of tasks in the Orbit application.
+ * <p>
+ * Every task gets an ID when added: a number that is never reused within the list and is kept
+ * across saves. IDs increase along the list, so a task can be found by ID or by position in
+ * O(log n), and removing one does not change the IDs of the rest.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    /**
+     * Lists at least this long are scanned in parallel when no index applies. This is a cautious
+     * default rather than a measured break-even point, which depends on the number of cores; run
+     * {@code gradlew benchmark} to find it for a machine and set it through
+     * {@value #PARALLEL_SCAN_THRESHOLD_PROPERTY}.
+     */
+    public static final int DEFAULT_PARALLEL_SCAN_THRESHOLD = 50_000;
+    /** System property overriding {@link #DEFAULT_PARALLEL_SCAN_THRESHOLD}, in tasks. */
+    public static final String PARALLEL_SCAN_THRESHOLD_PROPERTY = "voy.parallelScanThreshold";
+
+    private final TaskSlots tasks;
+    private int parallelScanThreshold = DEFAULT_PARALLEL_SCAN_THRESHOLD;
+    private long nextId = 1;
+    /** Search indexes are built on the first search that needs them, then kept up to date by every mutation. */
+    private final List<TaskIndex> indexes = new ArrayList<>();
+    private TokenIndex tokenIndex;
+    private TrigramIndex trigramIndex;
+    private TypeIndex typeIndex;
+    private DateIndex dateIndex;
+    private EventIntervalTree eventTree;
+    private AvailabilityMap availability;
+    private PendingDateIndex pendingDeadlines;
+    private PendingDateIndex pendingEvents;
+    /** Publisher of changes, or null until someone asks for {@link #changes()}. */
+    private volatile SubmissionPublisher<TaskChange> changes;
+    /** Thread handing changes to the publisher, so that a slow subscriber never holds up a change. */
+    private ExecutorService deliverer;
+    /** Changes made but not yet handed to the deliverer, oldest first; guarded by itself. */
+    private final ArrayDeque<TaskChange> unpublished = new ArrayDeque<>();
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        tasks = new ArrayList<>();
+        tasks = new TaskSlots();
+    }
+
+    /**
+     * Returns the stream of changes made to the list from now on: every added and removed task, and
+     * every task marked as done or not done, in the order they were made.
+     * <p>
+     * Changes are delivered asynchronously, from a thread of their own. A subscriber that has
+     * {@link Flow#defaultBufferSize()} undelivered changes holds up delivery until it requests more,
+     * but never the list: changes made meanwhile wait in memory, and none is dropped. Subscribers
+     * should rely on the changes they receive rather than read the list back, which may have moved on.
+     * <p>
+     * The search indexes of the list are not subscribers: they are updated within each change, so a
+     * search never sees a stale index.
+     *
+     * @return Publisher of the list's changes.
+     */
+    public synchronized Flow.Publisher<TaskChange> changes() {
+        if (changes == null) {
+            deliverer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "voy-task-changes");
+                thread.setDaemon(true);
+                return thread;
+            });
+            changes = new SubmissionPublisher<>();
+        }
+        return changes;
+    }
+
+    private void publish(TaskChange.Kind kind, Task task, int position) {
+        if (changes == null || !changes.hasSubscribers()) {
+            return;
+        }
+        synchronized (unpublished) {
+            unpublished.add(new TaskChange(kind, task, position));
+        }
+        if (!isHoldingChanges()) {
+            publishHeldChanges();
+        }
+    }
+
+    /**
+     * Returns whether changes made now should be held until {@link #publishHeldChanges()} is called,
+     * such as while the caller holds a lock of the list.
+     *
+     * @return true if changes are held; false to hand each to the deliverer as soon as it is made.
+     */
+    boolean isHoldingChanges() {
+        return false;
+    }
+
+    /**
+     * Hands the changes held so far to the delivering thread, oldest first, without waiting for
+     * any subscriber.
+     */
+    void publishHeldChanges() {
+        SubmissionPublisher<TaskChange> publisher = changes;
+        if (publisher == null) {
+            return;
+        }
+        // the monitor keeps batches in order when several threads publish at once; the deliverer runs them in turn
+        synchronized (unpublished) {
+            if (unpublished.isEmpty()) {
+                return;
+            }
+            List<TaskChange> batch = new ArrayList<>(unpublished);
+            unpublished.clear();
+            deliverer.execute(() -> {
+                for (TaskChange change : batch) {
+                    // blocks while a subscriber's buffer is full, which only holds up this thread
+                    publisher.submit(change);
+                }
+            });
+        }
     }
 
     /**
@@ -22,7 +139,7 @@ public class TaskList {
      * @param task Task to be added.
      */
     public void add(Task task) {
-        tasks.add(task);
+        addTask(task);
     }
 
     /**
@@ -31,7 +148,7 @@ public class TaskList {
      * @param index Index of the task to remove.
      */
     public void remove(int index) {
-        tasks.remove(index);
+        removeTask(index);
     }
 
     /**
@@ -45,20 +162,78 @@ public class TaskList {
     }
 
     /**
-     * Returns all tasks in the list.
+     * Returns the position of the task with the given ID.
+     *
+     * @param id Task ID.
+     * @return Zero-based index of the task, or -1 if no task in the list has that ID.
+     */
+    public int indexOfId(long id) {
+        return tasks.indexOf(id);
+    }
+
+    /**
+     * Returns all tasks in the list, in order. The returned list is a copy; use the mutators
+     * of this class to change the list.
      *
      * @return List of tasks.
      */
     public ArrayList<Task> getTasks() {
-        return tasks;
+        return tasks.toList();
+    }
+
+    /**
+     * Returns the tasks in the list, in order, as an unmodifiable list unaffected by later changes
+     * to the list. Preferred over {@link #getTasks()} by readers that do not modify the result.
+     *
+     * @return Unmodifiable list of tasks.
+     */
+    public List<Task> snapshot() {
+        return Collections.unmodifiableList(tasks.toList());
     }
+
+    /**
+     * Returns the ID the next added task will get.
+     *
+     * @return Next task ID.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Ensures that tasks added from now on get IDs of at least {@code nextId}, so IDs of tasks
+     * deleted before a save are not handed out again after reloading.
+     *
+     * @param nextId Lowest ID that may be assigned next.
+     */
+    public void reserveIds(long nextId) {
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
     /**
      * Adds a task to the list.
      *
      * @param task A new task.
      */
     public void addTask(Task task) {
+        addTask(task, nextId);
+    }
+
+    /**
+     * Adds a task to the list with a known ID, such as one read back from storage.
+     *
+     * @param task A new task.
+     * @param id ID of the task; greater than the ID of every task added before.
+     */
+    public void addTask(Task task, long id) {
+        assert id >= nextId : "Task IDs must increase along the list";
+        task.setSequence(id);
+        nextId = id + 1;
         tasks.add(task);
+        for (TaskIndex index : indexes) {
+            index.add(task);
+        }
+        publish(TaskChange.Kind.ADDED, task, tasks.size() - 1);
     }
     /**
      * Removes a task from the list.
@@ -67,20 +242,348 @@ public class TaskList {
      * @return Deleted task.
      */
     public Task removeTask(int index) {
+        Task task = tasks.remove(index);
+        unindex(task);
+        publish(TaskChange.Kind.REMOVED, task, index);
+        return task;
+    }
+
+    /**
+     * Removes the tasks at the given positions in one pass, without shifting the tasks after each.
+     *
+     * @param indexes Indexes of the tasks, in increasing order and distinct.
+     * @return Deleted tasks, in list order.
+     */
+    public List<Task> removeTasks(int[] indexes) {
+        Task[] removed = tasks.removeAll(indexes);
+        for (int i = 0; i < removed.length; i++) {
+            unindex(removed[i]);
+            // earlier removals in the batch have already shifted this task forward by i
+            publish(TaskChange.Kind.REMOVED, removed[i], indexes[i] - i);
+        }
+        return Arrays.asList(removed);
+    }
+
+    /**
+     * Returns the indexes of the given tasks, in the same order.
+     *
+     * @param selected Tasks of this list.
+     * @return Index of each task.
+     */
+    public int[] indexesOf(List<Task> selected) {
+        int[] indexes = new int[selected.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = tasks.indexOf(selected.get(i).getId());
+            assert indexes[i] >= 0 : "Task must belong to this list";
+        }
+        return indexes;
+    }
+
+    /**
+     * Marks the task at the given position as done or not done.
+     *
+     * @param index Index of the task.
+     * @param isDone Whether the task is done.
+     * @return The updated task.
+     */
+    public Task setDone(int index, boolean isDone) {
         Task task = tasks.get(index);
-        tasks.remove(index);
+        if (task.isDone() == isDone) {
+            return task;
+        }
+        for (TaskIndex pending : getPendingIndexes()) {
+            pending.remove(task);
+        }
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsNotDone();
+        }
+        for (TaskIndex pending : getPendingIndexes()) {
+            pending.add(task);
+        }
+        publish(TaskChange.Kind.UPDATED, task, index);
         return task;
     }
+
     /**
-     * Returns a list of tasks whose descriptions contain the specified keyword.
+     * Removes every task satisfying the given condition, keeping the order of the rest.
+     *
+     * @param condition Condition for a task to be removed.
+     */
+    public void removeIf(Predicate<Task> condition) {
+        // the condition is tested once per task in order, so the count of kept tasks is each removed task's position
+        int[] kept = new int[1];
+        tasks.removeIf(task -> {
+            boolean isRemoved = condition.test(task);
+            if (isRemoved) {
+                unindex(task);
+                publish(TaskChange.Kind.REMOVED, task, kept[0]);
+            } else {
+                kept[0]++;
+            }
+            return isRemoved;
+        });
+    }
+    /**
+     * Returns a list of tasks whose descriptions contain the specified keyword, ignoring case.
+     * Keywords of three or more characters are narrowed to the tasks containing all of their
+     * trigrams before being verified; shorter keywords made only of letters and digits are
+     * answered from an inverted token index. Other keywords fall back to scanning every description,
+     * in parallel for large lists.
      *
      * @param keyword Keyword to search for in task descriptions.
      * @return A list of matching tasks; returns an empty list if no matches are found.
      */
     public ArrayList<Task> filter(String keyword) {
-        return tasks.stream()
-                .filter(task -> task.getDescription().toUpperCase().contains(keyword.toUpperCase()))
-                .collect(Collectors.toCollection(ArrayList::new));
+        String upperKeyword = keyword.toUpperCase();
+        if (upperKeyword.length() >= TrigramIndex.GRAM_LENGTH) {
+            return new ArrayList<>(getTrigramIndex().find(upperKeyword));
+        }
+        if (TokenIndex.isWordQuery(keyword)) {
+            return new ArrayList<>(getTokenIndex().findSubstring(upperKeyword));
+        }
+        CaseFoldingMatcher matcher = new CaseFoldingMatcher(keyword);
+        return scan(task -> matcher.matches(task.getDescription()));
+    }
+
+    /**
+     * Sets the list size from which scans not served by an index run in parallel.
+     *
+     * @param threshold Minimum number of tasks for a parallel scan.
+     */
+    public void setParallelScanThreshold(int threshold) {
+        this.parallelScanThreshold = threshold;
+    }
+
+    /**
+     * Sets the parallel scan threshold from the {@value #PARALLEL_SCAN_THRESHOLD_PROPERTY} system
+     * property, e.g. {@code -Dvoy.parallelScanThreshold=20000}, if it is set.
+     *
+     * @throws OrbitException If the property is not a number of tasks; the threshold is left as it was.
+     */
+    public void setParallelScanThresholdFromSystemProperty() throws OrbitException {
+        String threshold = System.getProperty(PARALLEL_SCAN_THRESHOLD_PROPERTY);
+        if (threshold == null) {
+            return;
+        }
+        try {
+            int parsed = Integer.parseInt(threshold.trim());
+            if (parsed >= 0) {
+                setParallelScanThreshold(parsed);
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the exception below
+        }
+        throw new OrbitException("Ignoring " + PARALLEL_SCAN_THRESHOLD_PROPERTY + "=" + threshold
+                + ": not a number of tasks.");
+    }
+
+    /**
+     * Returns the tasks satisfying the condition in list order, testing them in parallel
+     * once the list reaches the parallel scan threshold.
+     *
+     * @param condition Condition to test; must be safe to call from several threads.
+     * @return Matching tasks.
+     */
+    ArrayList<Task> scan(Predicate<Task> condition) {
+        if (tasks.size() >= parallelScanThreshold) {
+            return ParallelScan.filter(tasks.toList(), condition);
+        }
+        ArrayList<Task> hits = new ArrayList<>();
+        for (Task task : tasks) {
+            if (condition.test(task)) {
+                hits.add(task);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the tasks whose descriptions best match the keyword, tolerating typos.
+     * Only tasks sharing a token within a small edit distance of a keyword token are scored.
+     *
+     * @param keyword Keyword, possibly misspelt; may contain several words.
+     * @param limit Maximum number of tasks returned.
+     * @return Up to {@code limit} matching tasks, most relevant first.
+     */
+    public ArrayList<Task> fuzzyFilter(String keyword, int limit) {
+        return new ArrayList<>(getTokenIndex().findFuzzy(TokenIndex.tokenize(keyword), limit));
+    }
+
+    /**
+     * Returns the tasks matching every condition of the query, in list order.
+     * Candidates are fetched through the most selective index for the query, then
+     * tested against the remaining conditions.
+     *
+     * @param query Conditions to match.
+     * @return Matching tasks; empty if none match.
+     */
+    public ArrayList<Task> query(TaskQuery query) {
+        return QueryPlan.plan(query, this).execute(this);
+    }
+
+    /**
+     * Returns the events overlapping the window {@code [from, to)}, ordered by start time.
+     * Events that end exactly at {@code from} or start exactly at {@code to} do not overlap.
+     *
+     * @param from Window start.
+     * @param to Window end.
+     * @return Overlapping events; empty if none.
+     */
+    public ArrayList<Task> findOverlappingEvents(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(getEventTree().findOccurrences(from, to));
+    }
+
+    /**
+     * Returns the events in the list with an occurrence overlapping the window {@code [from, to)}.
+     * Unlike {@link #findOverlappingEvents}, a recurring event is returned once, as the series itself.
+     *
+     * @param from Window start.
+     * @param to Window end.
+     * @return Overlapping events of the list, ordered by the start of their first occurrence; empty if none.
+     */
+    public ArrayList<Task> findOverlappingEventTasks(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(getEventTree().findOccurring(from, to));
+    }
+
+    /**
+     * Returns the start of up to {@code limit} free slots of the given length, earliest first.
+     * Only events count as busy; each maximal free gap yields at most one slot.
+     * <p>
+     * Busy minutes are kept in per-day bitmaps that are reused by later calls, so asking for several
+     * durations over the same days builds each day only once.
+     *
+     * @param from Time from which slots may start.
+     * @param days Number of days searched, starting with the day of {@code from}.
+     * @param dayStart Earliest time of day a slot may start.
+     * @param dayEnd Latest time of day a slot may end.
+     * @param durationMinutes Required slot length in minutes.
+     * @param limit Maximum number of slots returned.
+     * @return Slot start times; empty if none.
+     */
+    public List<LocalDateTime> findFreeSlots(LocalDateTime from, int days, LocalTime dayStart, LocalTime dayEnd,
+            long durationMinutes, int limit) {
+        return getAvailability().findSlots(from, days, dayStart, dayEnd, durationMinutes, limit);
+    }
+
+    /**
+     * Returns the first deadlines and events not yet done that are due or start at or after
+     * {@code from}, earliest first. A recurring event is placed at its next occurrence, and is left
+     * out once no occurrence starts at or after {@code from}.
+     *
+     * @param from Time from which tasks are included.
+     * @param limit Maximum number of tasks returned.
+     * @return Upcoming tasks in date order.
+     */
+    public ArrayList<Task> upcoming(LocalDateTime from, int limit) {
+        List<Task> deadlines = getPendingDeadlines().first(from, null, limit);
+        List<Task> events = getPendingEvents().first(from, null, limit);
+
+        ArrayList<Task> merged = new ArrayList<>(Math.min(limit, deadlines.size() + events.size()));
+        int d = 0;
+        int e = 0;
+        while (merged.size() < limit && (d < deadlines.size() || e < events.size())) {
+            boolean isDeadlineNext = e == events.size() || (d < deadlines.size()
+                    && !PendingDateIndex.nextDate(events.get(e), from).isBefore(DateIndex.dateOf(deadlines.get(d))));
+            merged.add(isDeadlineNext ? deadlines.get(d++) : events.get(e++));
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the deadlines not yet done that were due before {@code now}, earliest first.
+     *
+     * @param now Current time.
+     * @return Overdue deadlines in date order.
+     */
+    public ArrayList<Task> overdue(LocalDateTime now) {
+        return new ArrayList<>(getPendingDeadlines().first(null, now, Integer.MAX_VALUE));
+    }
+
+    private void unindex(Task task) {
+        for (TaskIndex index : indexes) {
+            index.remove(task);
+        }
+    }
+
+    private <T extends TaskIndex> T build(T index) {
+        for (Task task : tasks) {
+            index.add(task);
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    TrigramIndex getTrigramIndex() {
+        if (trigramIndex == null) {
+            trigramIndex = build(new TrigramIndex());
+        }
+        return trigramIndex;
+    }
+
+    TokenIndex getTokenIndex() {
+        if (tokenIndex == null) {
+            tokenIndex = build(new TokenIndex());
+        }
+        return tokenIndex;
+    }
+
+    TypeIndex getTypeIndex() {
+        if (typeIndex == null) {
+            typeIndex = build(new TypeIndex());
+        }
+        return typeIndex;
+    }
+
+    private EventIntervalTree getEventTree() {
+        if (eventTree == null) {
+            eventTree = build(new EventIntervalTree());
+        }
+        return eventTree;
+    }
+
+    private AvailabilityMap getAvailability() {
+        if (availability == null) {
+            availability = build(new AvailabilityMap(getEventTree()));
+        }
+        return availability;
+    }
+
+    /**
+     * Returns the indexes that depend on whether tasks are done and have already been built.
+     */
+    private List<TaskIndex> getPendingIndexes() {
+        List<TaskIndex> pending = new ArrayList<>(2);
+        if (pendingDeadlines != null) {
+            pending.add(pendingDeadlines);
+        }
+        if (pendingEvents != null) {
+            pending.add(pendingEvents);
+        }
+        return pending;
+    }
+
+    private PendingDateIndex getPendingDeadlines() {
+        if (pendingDeadlines == null) {
+            pendingDeadlines = build(new PendingDateIndex(TaskType.DEADLINE));
+        }
+        return pendingDeadlines;
+    }
+
+    private PendingDateIndex getPendingEvents() {
+        if (pendingEvents == null) {
+            pendingEvents = build(new PendingDateIndex(TaskType.EVENT));
+        }
+        return pendingEvents;
+    }
+
+    DateIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = build(new DateIndex());
+        }
+        return dateIndex;
     }
     /**
      * Returns the number of tasks in the list.
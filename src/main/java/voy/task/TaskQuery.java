@@ -0,0 +1,131 @@
+package voy.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A conjunction of conditions on tasks, evaluated by {@link TaskList#query(TaskQuery)}.
+ * Conditions left unset match every task.
+ */
+public class TaskQuery {
+    private TaskType type;
+    private Boolean isDone;
+    private LocalDateTime after;
+    private LocalDateTime before;
+    private final List<String> texts = new ArrayList<>();
+    private final List<CaseFoldingMatcher> textMatchers = new ArrayList<>();
+
+    /**
+     * Restricts matches to tasks of the given type.
+     *
+     * @param type Required task type.
+     */
+    public void setType(TaskType type) {
+        this.type = type;
+    }
+
+    /**
+     * Restricts matches to tasks with the given completion status.
+     *
+     * @param isDone Required completion status.
+     */
+    public void setDone(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    /**
+     * Restricts matches to tasks dated on or after the given time. A task's date is the due
+     * date of a deadline or the start of an event; todos have no date and never match.
+     *
+     * @param after Inclusive lower bound.
+     */
+    public void setAfter(LocalDateTime after) {
+        this.after = after;
+    }
+
+    /**
+     * Restricts matches to tasks dated before the given time.
+     *
+     * @param before Exclusive upper bound.
+     */
+    public void setBefore(LocalDateTime before) {
+        this.before = before;
+    }
+
+    /**
+     * Restricts matches to tasks whose description contains the given text, ignoring case.
+     * Several texts must all be contained.
+     *
+     * @param text Required text.
+     */
+    public void addText(String text) {
+        texts.add(text.toUpperCase());
+        textMatchers.add(new CaseFoldingMatcher(text));
+    }
+
+    TaskType getType() {
+        return type;
+    }
+
+    LocalDateTime getAfter() {
+        return after;
+    }
+
+    LocalDateTime getBefore() {
+        return before;
+    }
+
+    boolean hasDateRange() {
+        return after != null || before != null;
+    }
+
+    /**
+     * Returns whether the date bounds leave no time between them, so that no task can match.
+     *
+     * @return true if both bounds are set and the lower one is not before the upper one.
+     */
+    public boolean hasEmptyDateRange() {
+        return after != null && before != null && !after.isBefore(before);
+    }
+
+    /**
+     * Returns the upper-cased texts that descriptions must contain.
+     *
+     * @return Required texts.
+     */
+    List<String> getTexts() {
+        return texts;
+    }
+
+    /**
+     * Returns whether the task satisfies every condition of this query.
+     *
+     * @param task Task to test.
+     * @return true if the task matches.
+     */
+    public boolean matches(Task task) {
+        if (type != null && task.getTaskType() != type) {
+            return false;
+        }
+        if (isDone != null && task.isDone() != isDone) {
+            return false;
+        }
+        if (hasDateRange()) {
+            LocalDateTime date = DateIndex.dateOf(task);
+            if (date == null || (after != null && date.isBefore(after))
+                    || (before != null && !date.isBefore(before))) {
+                return false;
+            }
+        }
+        if (!textMatchers.isEmpty()) {
+            String description = task.getDescription();
+            for (CaseFoldingMatcher matcher : textMatchers) {
+                if (!matcher.matches(description)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,243 @@
+package voy.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * The tasks of a list in order, with positional access and removal in O(log n).
+ * <p>
+ * Tasks are appended to an array of slots and never shifted; removing one only empties its slot.
+ * A Fenwick tree over the slots counts the live tasks before each slot, so the task at a given
+ * position is found by descending the tree. Slots also keep the ID of the task they held, which
+ * increase along the list, so a task is found by ID with a binary search. Once more than half the
+ * slots are empty, the live tasks are packed to the front and the tree is rebuilt.
+ */
+class TaskSlots implements Iterable<Task> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Task[] slots = new Task[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    /** Fenwick tree of live-slot counts, 1-based. */
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private int used;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Appends a task, whose ID must be greater than that of every task already added.
+     *
+     * @param task Task to append.
+     */
+    void add(Task task) {
+        assert used == 0 || ids[used - 1] < task.getSequence() : "Task IDs must increase along the list";
+        if (used == slots.length) {
+            grow();
+        }
+        slots[used] = task;
+        ids[used] = task.getSequence();
+        for (int i = used + 1; i < tree.length; i += i & -i) {
+            tree[i]++;
+        }
+        used++;
+        size++;
+    }
+
+    /**
+     * Returns the task at the given position.
+     *
+     * @param position Zero-based position among the live tasks.
+     * @return Task at that position.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    Task get(int position) {
+        return slots[slotOf(position)];
+    }
+
+    /**
+     * Removes the task at the given position.
+     *
+     * @param position Zero-based position among the live tasks.
+     * @return The removed task.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    Task remove(int position) {
+        int slot = slotOf(position);
+        Task task = slots[slot];
+        slots[slot] = null;
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i]--;
+        }
+        size--;
+        if (used - size > used / 2) {
+            compact();
+        }
+        return task;
+    }
+
+    /**
+     * Removes the tasks at the given positions, compacting the slots at most once.
+     *
+     * @param positions Zero-based positions among the live tasks, in increasing order and distinct.
+     * @return The removed tasks, in list order.
+     * @throws IndexOutOfBoundsException If a position is out of range.
+     */
+    Task[] removeAll(int[] positions) {
+        int[] removedSlots = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            assert i == 0 || positions[i - 1] < positions[i] : "Positions must increase";
+            removedSlots[i] = slotOf(positions[i]);
+        }
+        Task[] removed = new Task[positions.length];
+        for (int i = 0; i < removedSlots.length; i++) {
+            int slot = removedSlots[i];
+            removed[i] = slots[slot];
+            slots[slot] = null;
+            for (int j = slot + 1; j < tree.length; j += j & -j) {
+                tree[j]--;
+            }
+        }
+        size -= positions.length;
+        if (used - size > used / 2) {
+            compact();
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every task satisfying the condition, in one pass.
+     *
+     * @param condition Condition for a task to be removed; called once per task, in order.
+     */
+    void removeIf(Predicate<Task> condition) {
+        boolean isRemoved = false;
+        for (int slot = 0; slot < used; slot++) {
+            if (slots[slot] != null && condition.test(slots[slot])) {
+                slots[slot] = null;
+                size--;
+                isRemoved = true;
+            }
+        }
+        if (isRemoved) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the position of the task with the given ID.
+     *
+     * @param id Task ID.
+     * @return Zero-based position, or -1 if no task in the list has that ID.
+     */
+    int indexOf(long id) {
+        int slot = Arrays.binarySearch(ids, 0, used, id);
+        if (slot < 0 || slots[slot] == null) {
+            return -1;
+        }
+        int position = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            position += tree[i];
+        }
+        return position;
+    }
+
+    /**
+     * Returns the live tasks in order, as a new list.
+     *
+     * @return Copy of the tasks.
+     */
+    ArrayList<Task> toList() {
+        ArrayList<Task> list = new ArrayList<>(size);
+        for (Task task : this) {
+            list.add(task);
+        }
+        return list;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int slot = nextLive(0);
+
+            private int nextLive(int from) {
+                while (from < used && slots[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < used;
+            }
+
+            @Override
+            public Task next() {
+                if (slot >= used) {
+                    throw new NoSuchElementException();
+                }
+                Task task = slots[slot];
+                slot = nextLive(slot + 1);
+                return task;
+            }
+        };
+    }
+
+    /**
+     * Returns the slot holding the live task at the given position, by descending the Fenwick tree.
+     */
+    private int slotOf(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + size);
+        }
+        int slot = 0;
+        int remaining = position + 1;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next < tree.length && tree[next] < remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+
+    private void grow() {
+        slots = Arrays.copyOf(slots, slots.length * 2);
+        ids = Arrays.copyOf(ids, ids.length * 2);
+        rebuildTree();
+    }
+
+    /**
+     * Packs the live tasks into the leading slots, keeping their order.
+     */
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < used; slot++) {
+            if (slots[slot] != null) {
+                slots[live] = slots[slot];
+                ids[live] = ids[slot];
+                live++;
+            }
+        }
+        Arrays.fill(slots, live, used, null);
+        used = live;
+        rebuildTree();
+    }
+
+    private void rebuildTree() {
+        tree = new int[slots.length + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += slots[i - 1] != null ? 1 : 0;
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package voy.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index from upper-cased description tokens to the tasks containing them.
+ * <p>
+ * A token is a maximal run of letters and digits. Postings are kept in the order tasks were
+ * added, which is also their order in the {@link TaskList}. Every token some task contains is
+ * also kept in a {@link BkTree} for typo-tolerant lookup, and removed from it with its last
+ * posting. Each current token is also listed under each of its suffixes in sorted order, so the
+ * tokens containing a keyword are those listed under the suffixes that start with it.
+ */
+class TokenIndex implements TaskIndex {
+    /** Query tokens up to this length tolerate one edit; longer ones tolerate two. */
+    private static final int SHORT_TOKEN_LENGTH = 4;
+
+    private final Map<String, List<Task>> postings = new HashMap<>();
+    private final BkTree vocabulary = new BkTree();
+    private final NavigableMap<String, List<String>> tokensBySuffix = new TreeMap<>();
+
+    @Override
+    public void add(Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            List<Task> tasks = postings.computeIfAbsent(token, key -> {
+                vocabulary.add(key);
+                addSuffixes(key);
+                return new ArrayList<>(1);
+            });
+            if (tasks.isEmpty() || tasks.get(tasks.size() - 1) != task) {
+                tasks.add(task);
+            }
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            List<Task> tasks = postings.get(token);
+            if (tasks == null) {
+                continue;
+            }
+            Postings.remove(tasks, task);
+            if (tasks.isEmpty()) {
+                postings.remove(token);
+                vocabulary.remove(token);
+                removeSuffixes(token);
+            }
+        }
+    }
+
+    private void addSuffixes(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            tokensBySuffix.computeIfAbsent(token.substring(i), key -> new ArrayList<>(1)).add(token);
+        }
+    }
+
+    private void removeSuffixes(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            String suffix = token.substring(i);
+            List<String> tokens = tokensBySuffix.get(suffix);
+            tokens.remove(token);
+            if (tokens.isEmpty()) {
+                tokensBySuffix.remove(suffix);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks with a token containing the given keyword. For a keyword made only of
+     * letters and digits, this is exactly the set of tasks whose description contains it.
+     * The cost is logarithmic in the number of distinct tokens plus proportional to the tokens
+     * containing the keyword and their hits, not to the list size. When only one token contains
+     * the keyword, its posting list is returned as is.
+     *
+     * @param keyword Upper-cased keyword for which {@link #isWordQuery(String)} holds.
+     * @return Matching tasks in list order.
+     */
+    List<Task> findSubstring(String keyword) {
+        // every suffix starting with the keyword sorts between it and the keyword followed by the largest char
+        Collection<List<String>> sharing = tokensBySuffix.subMap(keyword, true, keyword + Character.MAX_VALUE, false)
+                .values();
+        Set<String> tokens = new HashSet<>();
+        for (List<String> suffixTokens : sharing) {
+            tokens.addAll(suffixTokens);
+        }
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() == 1) {
+            return postings.get(tokens.iterator().next());
+        }
+
+        Set<Task> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Task> hits = new ArrayList<>();
+        for (String token : tokens) {
+            for (Task task : postings.get(token)) {
+                if (seen.add(task)) {
+                    hits.add(task);
+                }
+            }
+        }
+        hits.sort(Comparator.comparingLong(Task::getSequence));
+        return hits;
+    }
+
+    /**
+     * Returns the tasks best matching the query tokens, allowing typos in each token.
+     * <p>
+     * Each query token is looked up in the vocabulary tree, so only tasks sharing a similar token
+     * are scored. A task ranks higher the more query tokens it matches, then the smaller the sum of
+     * edit distances of its best matches, then by list order.
+     *
+     * @param queryTokens Upper-cased query tokens.
+     * @param limit Maximum number of tasks returned.
+     * @return Up to {@code limit} tasks, best match first.
+     */
+    List<Task> findFuzzy(List<String> queryTokens, int limit) {
+        Map<Task, int[]> scores = new IdentityHashMap<>();
+        for (String query : queryTokens) {
+            int maxDistance = query.length() <= SHORT_TOKEN_LENGTH ? 1 : 2;
+            Map<Task, Integer> bestDistances = new IdentityHashMap<>();
+            for (Map.Entry<String, Integer> match : vocabulary.search(query, maxDistance).entrySet()) {
+                for (Task task : postings.getOrDefault(match.getKey(), List.of())) {
+                    bestDistances.merge(task, match.getValue(), Math::min);
+                }
+            }
+            for (Map.Entry<Task, Integer> entry : bestDistances.entrySet()) {
+                int[] score = scores.computeIfAbsent(entry.getKey(), task -> new int[2]);
+                score[0]++;
+                score[1] += entry.getValue();
+            }
+        }
+
+        Comparator<Task> ranking = Comparator.<Task>comparingInt(task -> -scores.get(task)[0])
+                .thenComparingInt(task -> scores.get(task)[1])
+                .thenComparingLong(Task::getSequence);
+        PriorityQueue<Task> best = new PriorityQueue<>(ranking.reversed());
+        for (Task task : scores.keySet()) {
+            best.add(task);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Task> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        return ranked;
+    }
+
+    /**
+     * Returns whether the keyword is a single token, so the index can answer it exactly.
+     *
+     * @param keyword Keyword to check.
+     * @return true if the keyword is non-empty and made only of letters and digits.
+     */
+    static boolean isWordQuery(String keyword) {
+        if (keyword.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (!Character.isLetterOrDigit(keyword.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a description into distinct upper-cased tokens.
+     *
+     * @param description Task description.
+     * @return Tokens in order of first appearance.
+     */
+    static List<String> tokenize(String description) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= description.length(); i++) {
+            boolean isTokenChar = i < description.length() && Character.isLetterOrDigit(description.charAt(i));
+            if (isTokenChar && start < 0) {
+                start = i;
+            } else if (!isTokenChar && start >= 0) {
+                String token = description.substring(start, i).toUpperCase();
+                if (!tokens.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
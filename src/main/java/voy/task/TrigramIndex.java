@@ -0,0 +1,111 @@
+package voy.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index from every three-character sequence of upper-cased descriptions to the tasks containing it.
+ * <p>
+ * A description containing a keyword must contain every trigram of the keyword, so intersecting
+ * the keyword's posting lists yields a small candidate set that is then verified with a plain
+ * substring check. Postings are kept in list order.
+ */
+class TrigramIndex implements TaskIndex {
+    /** Keywords shorter than this have no trigrams and cannot be narrowed by the index. */
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, List<Task>> postings = new HashMap<>();
+
+    @Override
+    public void add(Task task) {
+        for (long gram : trigrams(task.getDescription().toUpperCase())) {
+            postings.computeIfAbsent(gram, key -> new ArrayList<>(1)).add(task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (long gram : trigrams(task.getDescription().toUpperCase())) {
+            List<Task> tasks = postings.get(gram);
+            if (tasks == null) {
+                continue;
+            }
+            Postings.remove(tasks, task);
+            if (tasks.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose upper-cased description contains the given keyword.
+     *
+     * @param keyword Upper-cased keyword of at least {@link #GRAM_LENGTH} characters.
+     * @return Matching tasks in list order.
+     */
+    List<Task> find(String keyword) {
+        assert keyword.length() >= GRAM_LENGTH : "Keyword too short for trigram search";
+
+        List<List<Task>> lists = new ArrayList<>();
+        for (long gram : trigrams(keyword)) {
+            List<Task> tasks = postings.get(gram);
+            if (tasks == null) {
+                return List.of();
+            }
+            lists.add(tasks);
+        }
+        lists.sort(Comparator.comparingInt(List::size));
+
+        List<Task> hits = new ArrayList<>();
+        List<Task> smallest = lists.get(0);
+        for (Task candidate : smallest) {
+            if (isInAll(candidate, lists) && candidate.getDescription().toUpperCase().contains(keyword)) {
+                hits.add(candidate);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #find(String)} would return,
+     * without verifying any candidate.
+     *
+     * @param keyword Upper-cased keyword of at least {@link #GRAM_LENGTH} characters.
+     * @return Size of the keyword's shortest posting list.
+     */
+    int estimate(String keyword) {
+        int smallest = Integer.MAX_VALUE;
+        for (long gram : trigrams(keyword)) {
+            smallest = Math.min(smallest, postings.getOrDefault(gram, List.of()).size());
+        }
+        return smallest;
+    }
+
+    private static boolean isInAll(Task candidate, List<List<Task>> lists) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (Postings.indexOf(lists.get(i), candidate.getSequence()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distinct trigrams of a string, each packed as three 16-bit chars.
+     *
+     * @param text Upper-cased text.
+     * @return Distinct trigrams in order of first appearance.
+     */
+    static Set<Long> trigrams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
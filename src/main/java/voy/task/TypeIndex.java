@@ -0,0 +1,36 @@
+package voy.task;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buckets of tasks by {@link TaskType}, each in list order.
+ */
+class TypeIndex implements TaskIndex {
+    private final Map<TaskType, List<Task>> buckets = new EnumMap<>(TaskType.class);
+
+    @Override
+    public void add(Task task) {
+        buckets.computeIfAbsent(task.getTaskType(), type -> new ArrayList<>()).add(task);
+    }
+
+    @Override
+    public void remove(Task task) {
+        List<Task> bucket = buckets.get(task.getTaskType());
+        if (bucket != null) {
+            Postings.remove(bucket, task);
+        }
+    }
+
+    /**
+     * Returns the tasks of the given type.
+     *
+     * @param type Task type.
+     * @return Tasks of that type in list order.
+     */
+    List<Task> tasksOf(TaskType type) {
+        return buckets.getOrDefault(type, List.of());
+    }
+}
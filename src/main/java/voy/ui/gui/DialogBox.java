@@ -70,6 +70,8 @@ public class DialogBox extends HBox {
             dialog.getStyleClass().add("add-label");
             break;
         case LIST:
+        case UPCOMING:
+        case OVERDUE:
             dialog.getStyleClass().add("list-label");
             break;
         case MARK:
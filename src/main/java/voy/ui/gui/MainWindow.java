@@ -8,6 +8,7 @@ import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
@@ -27,6 +28,8 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private Label taskSummary;
 
     private Voy voy;
 
@@ -49,9 +52,21 @@ public class MainWindow extends AnchorPane {
         );
     }
 
-    /** Injects the Orbit instance */
+    /** Injects the Orbit instance and shows its task counts above the chat. */
     public void setVoy(Voy voy) {
         this.voy = voy;
+        voy.watchTasks(summary -> Platform.runLater(() -> taskSummary.setText(summary)));
+        showWarnings();
+    }
+
+    /**
+     * Shows any warnings Voy has not reported yet, such as lines skipped while loading, in a dialog box.
+     */
+    private void showWarnings() {
+        String warnings = voy.takeWarnings();
+        if (!warnings.isEmpty()) {
+            dialogContainer.getChildren().add(DialogBox.getVoyDialog(warnings, voyImage, CommandType.ERROR));
+        }
     }
 
     /**
@@ -68,6 +83,7 @@ public class MainWindow extends AnchorPane {
                 DialogBox.getUserDialog(input, userImage),
                 DialogBox.getVoyDialog(response, voyImage, commandType)
         );
+        showWarnings();
         if (commandType == CommandType.BYE) {
             PauseTransition delay = new PauseTransition(Duration.seconds(2));
             delay.setOnFinished(event -> Platform.exit());
@@ -0,0 +1,75 @@
+package voy.ui.gui;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import voy.task.Task;
+import voy.task.TaskChange;
+
+/**
+ * Keeps count of the tasks in a list and how many are done, from the list's changes, and reports
+ * a summary such as "3 tasks, 1 done" after each change.
+ */
+class TaskCounter implements Flow.Subscriber<TaskChange> {
+    private final Consumer<String> onSummary;
+    private int total;
+    private int done;
+
+    /**
+     * Constructs a TaskCounter starting from the given tasks.
+     *
+     * @param tasks Tasks in the list when the counter subscribes to its changes.
+     * @param onSummary Receives each new summary, on the thread delivering the changes.
+     */
+    TaskCounter(List<Task> tasks, Consumer<String> onSummary) {
+        this.onSummary = onSummary;
+        this.total = tasks.size();
+        this.done = (int) tasks.stream().filter(Task::isDone).count();
+    }
+
+    /**
+     * Returns the summary of the counts so far.
+     *
+     * @return Number of tasks and how many of them are done.
+     */
+    String summary() {
+        return total + (total == 1 ? " task, " : " tasks, ") + done + " done";
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        onSummary.accept(summary());
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(TaskChange change) {
+        int doneChange = change.isDone() ? 1 : 0;
+        switch (change.getKind()) {
+        case ADDED:
+            total++;
+            done += doneChange;
+            break;
+        case REMOVED:
+            total--;
+            done -= doneChange;
+            break;
+        case UPDATED:
+            done += change.isDone() ? 1 : -1;
+            break;
+        default:
+            throw new AssertionError(change.getKind());
+        }
+        onSummary.accept(summary());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        onSummary.accept("Task counts unavailable");
+    }
+
+    @Override
+    public void onComplete() {
+    }
+}
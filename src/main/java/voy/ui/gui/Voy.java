@@ -1,10 +1,15 @@
 package voy.ui.gui;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import voy.command.Command;
 import voy.command.CommandType;
 import voy.exception.OrbitException;
 import voy.parser.Parser;
 import voy.storage.Storage;
+import voy.task.ConcurrentTaskList;
 import voy.task.TaskList;
 
 /**
@@ -14,6 +19,9 @@ import voy.task.TaskList;
  */
 public class Voy {
 
+    /** Minimum delay between background saves while commands are being issued. */
+    private static final long WRITE_BEHIND_INTERVAL_MILLIS = 500;
+
     /** Handles loading and saving of tasks to persistent storage. */
     private final Storage storage;
 
@@ -23,15 +31,27 @@ public class Voy {
     /** Tracks the type of the most recently executed command. */
     private CommandType lastCommandType = null;
 
+    /** Problems found at startup that have not been shown yet. */
+    private final List<String> startupWarnings = new ArrayList<>();
+
     /**
      * Constructs a {@code Voy} instance and loads existing tasks from storage.
+     * Each change is appended to the journal as it is made, while the data file itself is
+     * rewritten in the background, so commands never wait on a full save.
      *
      * @param filePath the file path used for storing and loading task data
      * @throws OrbitException if an error occurs while loading data from storage
      */
     public Voy(String filePath) throws OrbitException {
-        this.storage = new Storage(filePath);
-        this.taskList = storage.load();
+        this.storage = new Storage(filePath, true);
+        storage.setArchiveAfterFromSystemProperty();
+        this.taskList = storage.load(new ConcurrentTaskList());
+        try {
+            taskList.setParallelScanThresholdFromSystemProperty();
+        } catch (OrbitException e) {
+            startupWarnings.add(e.getMessage());
+        }
+        storage.setWriteBehind(WRITE_BEHIND_INTERVAL_MILLIS);
     }
 
     /**
@@ -43,7 +63,11 @@ public class Voy {
     public String getResponse(String input) {
         try {
             Command c = Parser.parse(input);
-            String response = c.execute(taskList, storage);
+            String response;
+            // commands run one at a time so each save matches its change; the background saver reads a snapshot
+            synchronized (taskList) {
+                response = c.execute(taskList, storage);
+            }
             lastCommandType = c.getCommandType();
             return response;
         } catch (OrbitException e) {
@@ -52,6 +76,36 @@ public class Voy {
         }
     }
 
+    /**
+     * Reports the number of tasks and how many are done now and after every change to the list.
+     * Meant to be called once, before any command is run.
+     *
+     * @param onSummary Receives each summary, on a background thread.
+     */
+    public void watchTasks(Consumer<String> onSummary) {
+        // no command can change the list between the snapshot and the subscription
+        synchronized (taskList) {
+            taskList.changes().subscribe(new TaskCounter(taskList.snapshot(), onSummary));
+        }
+    }
+
+    /**
+     * Returns the warnings not shown yet, such as corrupted lines skipped at startup or a failed
+     * background compaction, and forgets them.
+     *
+     * @return The warnings, one per line, or an empty string if there are none.
+     */
+    public String takeWarnings() {
+        List<String> warnings = new ArrayList<>(startupWarnings);
+        startupWarnings.clear();
+        warnings.addAll(storage.takeWarnings());
+        StringBuilder message = new StringBuilder();
+        for (String warning : warnings) {
+            message.append(message.length() == 0 ? "" : "\n").append("⚠ ").append(warning);
+        }
+        return message.toString();
+    }
+
     /**
      * Returns the type of the most recently executed command.
      *
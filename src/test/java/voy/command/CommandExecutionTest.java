@@ -3,9 +3,18 @@ package voy.command;
 import org.junit.jupiter.api.Test;
 import voy.exception.OrbitException;
 import voy.storage.Storage;
+import voy.task.Event;
+import voy.task.Frequency;
+import voy.task.RecurringEvent;
+import voy.task.Task;
 import voy.task.TaskList;
 import voy.task.ToDo;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class CommandExecutionTest {
@@ -74,4 +83,125 @@ public class CommandExecutionTest {
         ByeCommand cmd = new ByeCommand();
         assertTrue(cmd.isExit());
     }
+
+    @Test
+    public void addEvent_overlappingEvent_warnsButAdds() throws OrbitException {
+        TaskList list = new TaskList();
+        Storage storage = new Storage("data/test.txt");
+        LocalDateTime nine = LocalDateTime.of(2026, 3, 12, 9, 0);
+        list.add(new Event("standup", nine, nine.plusHours(1)));
+
+        String touching = new AddEventCommand(new Event("review", nine.plusHours(1), nine.plusHours(2)))
+                .execute(list, storage);
+        assertFalse(touching.contains("overlaps"));
+
+        String overlapping = new AddEventCommand(new Event("sync", nine.plusMinutes(30), nine.plusHours(3)))
+                .execute(list, storage);
+        assertTrue(overlapping.contains("overlaps"));
+        assertTrue(overlapping.contains("standup"));
+        assertTrue(overlapping.contains("review"));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    public void addRecurringEvent_conflictsListedOncePerTask_withinCheckedOccurrences() throws OrbitException {
+        TaskList list = new TaskList();
+        Storage storage = new Storage("data/test.txt");
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 9, 9, 0);
+        list.add(new RecurringEvent("standup", monday, monday.plusMinutes(15), Frequency.DAILY,
+                LocalDate.of(2026, 12, 31)));
+        list.add(new Event("offsite", monday.plusWeeks(60), monday.plusWeeks(60).plusHours(8)));
+
+        String added = new AddEventCommand(new RecurringEvent("planning", monday, monday.plusHours(1), Frequency.WEEKLY,
+                LocalDate.of(2028, 12, 31))).execute(list, storage);
+        assertTrue(added.contains("overlaps"));
+        assertEquals(added.indexOf("standup"), added.lastIndexOf("standup"));
+        assertFalse(added.contains("offsite"));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    public void free_sweepAcrossDays_returnsFirstSlotsInOrder() {
+        TaskList list = new TaskList();
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 9, 0, 0);
+        // busy 08:00-12:00 and 12:30-18:00 on Monday, and all of Tuesday's hours
+        list.add(new Event("a", monday.withHour(8), monday.withHour(12)));
+        list.add(new Event("b", monday.withHour(12).withMinute(30), monday.withHour(18)));
+        list.add(new Event("c", monday.plusDays(1).withHour(7), monday.plusDays(1).withHour(19)));
+
+        FreeCommand cmd = new FreeCommand(60, 90, LocalTime.of(8, 0), LocalTime.of(18, 0), 2);
+        List<LocalDateTime> slots = cmd.findSlots(list, monday.withHour(7).withMinute(15), 60);
+
+        assertEquals(2, slots.size());
+        assertEquals(monday.plusDays(2).withHour(8), slots.get(0));
+        assertEquals(monday.plusDays(3).withHour(8), slots.get(1));
+
+        FreeCommand halfHour = new FreeCommand(30, 1, LocalTime.of(8, 0), LocalTime.of(18, 0), 5);
+        assertEquals(List.of(monday.withHour(12)), halfHour.findSlots(list, monday.withHour(9), 30));
+    }
+
+    @Test
+    public void free_severalDurations_shareAvailabilityAcrossMutations() {
+        TaskList list = new TaskList();
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 9, 0, 0);
+        // free 08:00-08:45, 10:00-12:00 and 14:00-18:00 on Monday
+        list.add(new Event("a", monday.withHour(8).withMinute(45), monday.withHour(10)));
+        list.add(new Event("b", monday.withHour(12), monday.withHour(14)));
+
+        FreeCommand cmd = new FreeCommand(List.of(30L, 120L, 240L), 1,
+                LocalTime.of(8, 0), LocalTime.of(18, 0), 3);
+        LocalDateTime now = monday.withHour(7);
+        assertEquals(List.of(monday.withHour(8), monday.withHour(10), monday.withHour(14)),
+                cmd.findSlots(list, now, 30));
+        assertEquals(List.of(monday.withHour(10), monday.withHour(14)), cmd.findSlots(list, now, 120));
+        assertEquals(List.of(monday.withHour(14)), cmd.findSlots(list, now, 240));
+        assertEquals(List.of(), cmd.findSlots(list, now, 241));
+
+        list.add(new Event("c", monday.withHour(15).withSecond(30), monday.withHour(16)));
+        assertEquals(List.of(monday.withHour(10), monday.withHour(16)), cmd.findSlots(list, now, 120));
+
+        list.removeTask(2);
+        list.removeTask(0);
+        assertEquals(List.of(monday.withHour(8), monday.withHour(14)), cmd.findSlots(list, now, 240));
+    }
+
+    @Test
+    public void delete_byId_removesSameTaskAfterEarlierDeletes() throws OrbitException {
+        TaskList list = new TaskList();
+        Storage storage = new Storage("data/test.txt");
+        list.add(new ToDo("read"));
+        list.add(new ToDo("write"));
+        list.add(new ToDo("sleep"));
+
+        new DeleteCommand(0).execute(list, storage);
+        new DeleteCommand(TaskReference.withId(3)).execute(list, storage);
+
+        assertEquals(1, list.size());
+        assertEquals("write", list.getTask(0).getDescription());
+        assertThrows(OrbitException.class,
+                () -> new MarkCommand(TaskReference.withId(3)).execute(list, storage));
+    }
+
+    @Test
+    public void batch_execute_appliesWholeSelection() throws OrbitException {
+        TaskList list = new TaskList();
+        Storage storage = new Storage("data/test.txt");
+        for (String description : new String[] { "read report", "write", "file report", "sleep", "eat" }) {
+            list.add(new ToDo(description));
+        }
+
+        new BatchCommand(CommandType.MARK, TaskSelection.ofRanges(
+                List.of(new int[] { 1, 3 }, new int[] { 2, 2 }))).execute(list, storage);
+        assertEquals(3, list.getTasks().stream().filter(Task::isDone).count());
+
+        new BatchCommand(CommandType.UNMARK, TaskSelection.matching("report")).execute(list, storage);
+        assertFalse(list.getTask(2).isDone());
+
+        new BatchCommand(CommandType.DELETE, TaskSelection.done()).execute(list, storage);
+        assertEquals(3, list.size());
+        assertEquals("file report", list.getTask(1).getDescription());
+        assertThrows(OrbitException.class, () -> new BatchCommand(CommandType.DELETE,
+                TaskSelection.ofRanges(List.of(new int[] { 0, 3 }))).execute(list, storage));
+        assertEquals(3, list.size());
+    }
 }
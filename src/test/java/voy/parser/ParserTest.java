@@ -1,6 +1,7 @@
 package voy.parser;
 
 import org.junit.jupiter.api.Test;
+import voy.command.BatchCommand;
 import voy.command.Command;
 import voy.command.CommandType;
 import voy.exception.OrbitException;
@@ -41,4 +42,79 @@ public class ParserTest {
         assertThrows(OrbitException.class,
                 () -> Parser.parse("list something"));
     }
+
+    @Test
+    public void parse_listArchived_success() throws Exception {
+        Command c = Parser.parse("list --archived");
+        assertEquals(CommandType.LIST, c.getCommandType());
+    }
+
+    @Test
+    public void parse_findArchivedWithoutKeyword_throwsException() {
+        assertThrows(OrbitException.class, () -> Parser.parse("find --archived"));
+    }
+
+    @Test
+    public void parse_fuzzyFindWithoutKeyword_throwsException() {
+        assertThrows(OrbitException.class, () -> Parser.parse("find ~"));
+    }
+
+    @Test
+    public void parse_structuredFind_success() throws Exception {
+        Command c = Parser.parse("find type:deadline done:no before:2026-12-01 report");
+        assertEquals(CommandType.FIND, c.getCommandType());
+    }
+
+    @Test
+    public void parse_structuredFindInvalidValue_throwsException() {
+        assertThrows(OrbitException.class, () -> Parser.parse("find type:meeting"));
+        assertThrows(OrbitException.class, () -> Parser.parse("find before:2026-13-01"));
+    }
+
+    @Test
+    public void parse_structuredFindInvertedDates_throwsException() throws Exception {
+        assertThrows(OrbitException.class, () -> Parser.parse("find after:2026-12-01 before:2026-01-01 report"));
+        assertThrows(OrbitException.class, () -> Parser.parse("find after:2026-12-01 before:2026-12-02"));
+        assertEquals(CommandType.FIND, Parser.parse("find after:2026-12-01 before:2026-12-03").getCommandType());
+    }
+
+    @Test
+    public void parse_upcomingAndOverdue_success() throws Exception {
+        assertEquals(CommandType.UPCOMING, Parser.parse("upcoming").getCommandType());
+        assertEquals(CommandType.UPCOMING, Parser.parse("upcoming 5").getCommandType());
+        assertEquals(CommandType.OVERDUE, Parser.parse("overdue").getCommandType());
+        assertThrows(OrbitException.class, () -> Parser.parse("upcoming 0"));
+        assertThrows(OrbitException.class, () -> Parser.parse("overdue 3"));
+    }
+
+    @Test
+    public void parse_freeWithFlags_success() throws Exception {
+        Command c = Parser.parse("free 2h /within 90d /hours 08:00-18:00 /top 5");
+        assertEquals(CommandType.FREE, c.getCommandType());
+    }
+
+    @Test
+    public void parse_freeWithSeveralDurations_success() throws Exception {
+        Command c = Parser.parse("free 30m 1h 2 h /top 2");
+        assertEquals(CommandType.FREE, c.getCommandType());
+        assertThrows(OrbitException.class, () -> Parser.parse("free 30m 0h"));
+    }
+
+    @Test
+    public void parse_freeWithInvalidFlag_throwsException() {
+        assertThrows(OrbitException.class, () -> Parser.parse("free 2h /hours 18:00-08:00"));
+        assertThrows(OrbitException.class, () -> Parser.parse("free 2h /top 0"));
+        assertThrows(OrbitException.class, () -> Parser.parse("free 2h /soon"));
+    }
+
+    @Test
+    public void parse_batchSelections_success() throws Exception {
+        assertTrue(Parser.parse("mark 1-200,305") instanceof BatchCommand);
+        assertTrue(Parser.parse("delete done") instanceof BatchCommand);
+        assertEquals(CommandType.UNMARK, Parser.parse("unmark find:report").getCommandType());
+        assertFalse(Parser.parse("delete #12") instanceof BatchCommand);
+        assertThrows(OrbitException.class, () -> Parser.parse("mark 5-2"));
+        assertThrows(OrbitException.class, () -> Parser.parse("mark 1,,2"));
+        assertThrows(OrbitException.class, () -> Parser.parse("delete find:"));
+    }
 }
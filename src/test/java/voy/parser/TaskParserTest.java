@@ -2,6 +2,11 @@ package voy.parser;
 
 import org.junit.jupiter.api.Test;
 import voy.exception.OrbitException;
+import voy.task.Event;
+import voy.task.Frequency;
+import voy.task.RecurringEvent;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,4 +78,36 @@ public class TaskParserTest {
         assertThrows(OrbitException.class,
                 () -> TaskParser.parseFreeTime("abc"));
     }
+
+    @Test
+    public void parseEvent_recurring_success() throws Exception {
+        Event event = TaskParser.parseEvent(
+                "standup /from 2026-03-09 09:00 /to 2026-03-09 09:15 /every week /until 2026-06-29");
+        assertTrue(event instanceof RecurringEvent);
+        assertEquals(Frequency.WEEKLY, ((RecurringEvent) event).getFrequency());
+        assertThrows(OrbitException.class, () -> TaskParser.parseEvent(
+                "standup /from 2026-03-09 09:00 /to 2026-03-09 09:15 /every week"));
+        assertThrows(OrbitException.class, () -> TaskParser.parseEvent(
+                "standup /from 2026-03-09 09:00 /to 2026-03-09 09:15 /every year /until 2026-06-29"));
+        assertThrows(OrbitException.class, () -> TaskParser.parseEvent(
+                "standup /from 2026-03-09 09:00 /to 2026-03-09 09:15 /until 2026-06-29"));
+    }
+
+    @Test
+    public void parseTaskId_hashPrefixed_success() throws Exception {
+        assertEquals(12, TaskParser.parseTaskId("#12"));
+        assertThrows(OrbitException.class, () -> TaskParser.parseTaskId("12"));
+        assertThrows(OrbitException.class, () -> TaskParser.parseTaskId("#0"));
+        assertThrows(OrbitException.class, () -> TaskParser.parseTaskId("#x"));
+    }
+
+    @Test
+    public void parseTaskRanges_listOfNumbersAndRanges_success() throws Exception {
+        List<int[]> ranges = TaskParser.parseTaskRanges("1-200, 305");
+        assertEquals(2, ranges.size());
+        assertArrayEquals(new int[] { 0, 199 }, ranges.get(0));
+        assertArrayEquals(new int[] { 304, 304 }, ranges.get(1));
+        assertThrows(OrbitException.class, () -> TaskParser.parseTaskRanges("1-2-3"));
+        assertThrows(OrbitException.class, () -> TaskParser.parseTaskRanges("0-4"));
+    }
 }
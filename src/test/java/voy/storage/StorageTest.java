@@ -2,10 +2,17 @@ package voy.storage;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import voy.exception.OrbitException;
+import voy.task.ConcurrentTaskList;
+import voy.task.RecurringEvent;
 import voy.task.TaskList;
 import voy.task.ToDo;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,7 +41,7 @@ public class StorageTest {
     public void load_deadlineTask_parsedCorrectly() throws Exception {
         Path file = tempDir.resolve("voy.txt");
 
-        java.nio.file.Files.writeString(file,
+        Files.writeString(file,
                 "D | 1 | submit report | 2025-01-01T13:00\n");
 
         Storage storage = new Storage(file.toString());
@@ -47,7 +54,7 @@ public class StorageTest {
     public void load_eventTask_parsedCorrectly() throws Exception {
         Path file = tempDir.resolve("voy.txt");
 
-        java.nio.file.Files.writeString(file,
+        Files.writeString(file,
                 "E | 0 | meeting | 2025-01-01T10:00 | 2025-01-01T12:00\n");
 
         Storage storage = new Storage(file.toString());
@@ -56,4 +63,493 @@ public class StorageTest {
         assertEquals(1, list.size());
     }
 
+    @Test
+    public void journaled_mutationsReplayedOnLoad() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString(), true);
+
+        TaskList list = new TaskList();
+        ToDo read = new ToDo("read");
+        list.addTask(read);
+        storage.saveAdded(list, read);
+        ToDo write = new ToDo("write");
+        list.addTask(write);
+        storage.saveAdded(list, write);
+        list.getTask(1).markAsDone();
+        storage.saveMarked(list, 1);
+        list.removeTask(0);
+        storage.saveDeleted(list, 0);
+
+        assertEquals("", Files.readString(file));
+
+        TaskList loaded = new Storage(file.toString(), true).load();
+        assertEquals(1, loaded.size());
+        assertEquals("write", loaded.getTask(0).getDescription());
+        assertTrue(loaded.getTask(0).isDone());
+    }
+
+    @Test
+    public void journaled_fullSave_clearsJournal() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString(), true);
+
+        TaskList list = new TaskList();
+        ToDo read = new ToDo("read");
+        list.addTask(read);
+        storage.saveAdded(list, read);
+        storage.save(list);
+
+        assertFalse(Files.exists(tempDir.resolve("voy.txt.journal")));
+        assertEquals(1, new Storage(file.toString(), true).load().size());
+    }
+
+    @Test
+    public void journaled_overThreshold_compactsInBackground() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.setCompactionThresholds(3, Long.MAX_VALUE);
+
+        TaskList list = new TaskList();
+        for (int i = 0; i < 3; i++) {
+            ToDo todo = new ToDo("task " + i);
+            list.addTask(todo);
+            storage.saveAdded(list, todo);
+        }
+        storage.awaitCompaction();
+
+        assertTrue(Files.readString(file).contains("task 2"));
+        assertFalse(Files.exists(tempDir.resolve("voy.txt.journal")));
+
+        list.getTask(0).markAsDone();
+        storage.saveMarked(list, 0);
+
+        TaskList loaded = new Storage(file.toString(), true).load();
+        assertEquals(3, loaded.size());
+        assertTrue(loaded.getTask(0).isDone());
+    }
+
+    @Test
+    public void journaled_recordsAlreadyInSnapshot_notReplayedTwice() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Files.writeString(file, "# seq 1\nT | 0 | read\n");
+        Files.writeString(tempDir.resolve("voy.txt.journal"),
+                "1 | ADD | T | 0 | read\n2 | ADD | T | 0 | write\n");
+
+        TaskList loaded = new Storage(file.toString(), true).load();
+
+        assertEquals(2, loaded.size());
+        assertEquals("write", loaded.getTask(1).getDescription());
+    }
+
+    @Test
+    public void save_writesChecksumTrailer_andLeavesNoTempFile() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString());
+
+        TaskList list = new TaskList();
+        list.add(new ToDo("read"));
+        storage.save(list);
+
+        assertTrue(Files.readString(file).contains("# crc32 "));
+        assertFalse(Files.exists(tempDir.resolve("voy.txt.tmp")));
+        assertEquals(1, storage.load().size());
+    }
+
+    @Test
+    public void load_checksumMismatch_throwsException() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString());
+
+        TaskList list = new TaskList();
+        list.add(new ToDo("read"));
+        storage.save(list);
+        String tampered = Files.readString(file).replace("read", "reed");
+        Files.writeString(file, tampered);
+
+        assertThrows(OrbitException.class, storage::load);
+    }
+
+    @Test
+    public void groupCommit_journaledMutations_persisted() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.setDurability(Durability.GROUP_COMMIT);
+
+        TaskList list = new TaskList();
+        ToDo read = new ToDo("read");
+        list.addTask(read);
+        storage.saveAdded(list, read);
+
+        assertEquals(1, new Storage(file.toString(), true).load().size());
+    }
+
+    @Test
+    public void binaryFormat_migratesTextFile_andRoundTrips() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Files.writeString(file,
+                "T | 1 | read\n"
+                        + "D | 0 | submit report | 2025-01-01T13:00\n"
+                        + "E | 0 | meeting | 2025-01-01T10:00 | 2025-01-01T12:00\n");
+
+        Storage storage = new Storage(file.toString());
+        storage.setFormat(StorageFormat.BINARY);
+        TaskList migrated = storage.load();
+
+        assertTrue(BinaryTaskFormat.isBinary(Files.readAllBytes(file)));
+
+        TaskList loaded = new Storage(file.toString()).load();
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < migrated.size(); i++) {
+            assertEquals(migrated.getTask(i).toFileString(), loaded.getTask(i).toFileString());
+        }
+    }
+
+    @Test
+    public void exportText_binaryFile_writesPipeFormat() throws Exception {
+        Path file = tempDir.resolve("voy.bin");
+        Storage storage = new Storage(file.toString());
+        storage.setFormat(StorageFormat.BINARY);
+
+        TaskList list = new TaskList();
+        list.add(new ToDo("read"));
+        storage.save(list);
+
+        Path export = tempDir.resolve("export.txt");
+        storage.exportText(export.toString());
+
+        assertEquals("T | 0 | read", Files.readString(export).trim());
+    }
+
+    @Test
+    public void parallelLoad_largeFile_preservesOrder() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString(), true);
+
+        TaskList list = new TaskList();
+        for (int i = 0; i < 5000; i++) {
+            list.add(new ToDo("task " + i));
+        }
+        list.getTask(4321).markAsDone();
+        storage.save(list);
+
+        Storage parallel = new Storage(file.toString(), true);
+        parallel.setParallelLoadThreshold(0);
+        TaskList loaded = parallel.load();
+
+        assertEquals(5000, loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals("task " + i, loaded.getTask(i).getDescription());
+        }
+        assertTrue(loaded.getTask(4321).isDone());
+    }
+
+    @Test
+    public void writeBehind_coalescesMutations_untilFlush() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString());
+        storage.setWriteBehind(60_000);
+
+        TaskList list = new TaskList();
+        for (int i = 0; i < 3; i++) {
+            ToDo todo = new ToDo("task " + i);
+            list.addTask(todo);
+            storage.saveAdded(list, todo);
+        }
+        assertEquals(0, new Storage(file.toString()).load().size());
+
+        storage.flush();
+        assertEquals(3, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    public void writeBehind_journaled_journalsEachMutationAndTrimsOnFlush() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.setWriteBehind(60_000);
+
+        TaskList list = storage.load(new ConcurrentTaskList());
+        for (int i = 0; i < 3; i++) {
+            ToDo todo = new ToDo("task " + i);
+            synchronized (list) {
+                list.addTask(todo);
+                storage.saveAdded(list, todo);
+            }
+        }
+        synchronized (list) {
+            list.setDone(1, true);
+            storage.saveMarked(list, 1);
+        }
+        // nothing is snapshotted yet, but a crash now would replay the journal
+        TaskList beforeFlush = new Storage(file.toString(), true).load();
+        assertEquals(3, beforeFlush.size());
+        assertTrue(beforeFlush.getTask(1).isDone());
+
+        storage.flush();
+        assertFalse(Files.exists(tempDir.resolve("voy.txt.journal")));
+        TaskList afterFlush = new Storage(file.toString(), true).load();
+        assertEquals(3, afterFlush.size());
+        assertTrue(afterFlush.getTask(1).isDone());
+    }
+
+    @Test
+    public void writeBehind_failedWrite_isReportedAndRetried() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        // a non-empty directory cannot be replaced by the saved file
+        Path blocker = Files.createDirectories(file.resolve("blocker"));
+        Storage storage = new Storage(file.toString());
+        storage.setWriteBehind(10);
+
+        TaskList list = new TaskList();
+        ToDo first = new ToDo("read");
+        list.addTask(first);
+        storage.saveAdded(list, first);
+        Thread.sleep(200);
+
+        ToDo second = new ToDo("write");
+        synchronized (list) {
+            list.addTask(second);
+            assertThrows(OrbitException.class, () -> storage.saveAdded(list, second));
+        }
+
+        Files.delete(blocker);
+        Files.delete(file);
+        // a retry that read the list before the second task may land first
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!(Files.isRegularFile(file) && new Storage(file.toString()).load().size() == 2)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    public void load_corruptedLines_skippedAndReportedOnce() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Files.writeString(file, "T | 0 | read book\nD | 0 | report | someday\nT | 1 | buy milk\n");
+
+        Storage eager = new Storage(file.toString());
+        assertEquals(2, eager.load().size());
+        assertEquals(List.of("Skipping corrupted line: D | 0 | report | someday"), eager.takeWarnings());
+        assertTrue(eager.takeWarnings().isEmpty());
+
+        Storage lazy = new Storage(file.toString());
+        lazy.setLazyDescriptions(1);
+        assertEquals(2, lazy.load().size());
+        assertEquals(List.of("Skipping corrupted line: D | 0 | report | someday"), lazy.takeWarnings());
+
+        Storage parallel = new Storage(file.toString());
+        parallel.setParallelLoadThreshold(0);
+        assertEquals(2, parallel.load().size());
+        assertEquals(List.of("Skipping corrupted line: D | 0 | report | someday"), parallel.takeWarnings());
+    }
+
+    @Test
+    public void inPlace_markAndAdd_patchFileWithoutRewrite() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString());
+        storage.setInPlaceUpdates(true);
+
+        TaskList list = new TaskList();
+        list.add(new ToDo("read"));
+        list.add(new ToDo("write"));
+        storage.save(list);
+
+        list.getTask(1).markAsDone();
+        storage.saveMarked(list, 1);
+        ToDo sleep = new ToDo("sleep");
+        list.addTask(sleep);
+        storage.saveAdded(list, sleep);
+        list.getTask(0).markAsDone();
+        storage.saveMarked(list, 0);
+        list.getTask(1).markAsNotDone();
+        storage.saveUnmarked(list, 1);
+
+        String expected = "T | 1 | read" + System.lineSeparator()
+                + "T | 0 | write" + System.lineSeparator()
+                + "T | 0 | sleep" + System.lineSeparator();
+        assertEquals(expected, Files.readString(file));
+        assertEquals(3, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    public void save_multipleEncodedSlices_reloadsInOrderWithStats() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString(), true);
+
+        int count = ChunkedTextEncoder.SLICE_SIZE * 2 + 7;
+        TaskList list = new TaskList();
+        for (int i = 0; i < count; i++) {
+            list.add(new ToDo("task " + i));
+        }
+        list.getTask(ChunkedTextEncoder.SLICE_SIZE).markAsDone();
+        storage.save(list);
+
+        SaveStats stats = storage.getLastSaveStats();
+        assertEquals(count, stats.getTaskCount());
+        assertEquals(Files.size(file), stats.getByteCount());
+
+        TaskList loaded = new Storage(file.toString(), true).load();
+        assertEquals(count, loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals("task " + i, loaded.getTask(i).getDescription());
+        }
+        assertTrue(loaded.getTask(ChunkedTextEncoder.SLICE_SIZE).isDone());
+    }
+
+    @Test
+    public void archive_completedOldTasks_movedOutAndReadLazily() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Files.writeString(file,
+                "D | 1 | old report | 2020-01-01T13:00\n"
+                        + "D | 1 | recent report | 2999-01-01T13:00\n"
+                        + "T | 0 | open todo\n"
+                        + "E | 1 | old meeting | 2020-02-01T10:00 | 2020-02-01T12:00\n");
+
+        Storage storage = new Storage(file.toString(), true);
+        storage.setArchiveAfter(Duration.ofDays(30));
+        TaskList list = storage.load();
+
+        assertEquals(2, list.size());
+        assertEquals("recent report", list.getTask(0).getDescription());
+        assertEquals("open todo", list.getTask(1).getDescription());
+        assertEquals(2, storage.getArchivedCount());
+
+        Storage reopened = new Storage(file.toString(), true);
+        reopened.setArchiveAfter(Duration.ofDays(30));
+        assertEquals(2, reopened.load().size());
+        assertEquals(2, reopened.getArchivedCount());
+        assertEquals("old report", reopened.loadArchived().get(0).getDescription());
+        assertEquals("old meeting", reopened.findArchived("MEET").get(0).getDescription());
+        assertTrue(reopened.findArchived("recent").isEmpty());
+    }
+
+    @Test
+    public void archive_offByDefault_andDoneTodosKeptUntilCompletedLongAgo() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Files.writeString(file, "# done-at 1=2020-01-01T10:00\n"
+                + "T | 1 | old chore\n"
+                + "T | 1 | new chore\n");
+
+        assertEquals(2, new Storage(file.toString()).load().size());
+
+        Storage storage = new Storage(file.toString());
+        storage.setArchiveAfter(Duration.ofDays(30));
+        TaskList list = storage.load();
+        assertEquals(1, list.size());
+        assertEquals("new chore", list.getTask(0).getDescription());
+        LocalDateTime completedAt = list.getTask(0).getCompletedAt();
+        assertNotNull(completedAt);
+
+        Storage reopened = new Storage(file.toString());
+        reopened.setArchiveAfter(Duration.ofDays(30));
+        assertEquals(completedAt, reopened.load().getTask(0).getCompletedAt());
+        assertEquals(1, reopened.getArchivedCount());
+
+        Storage binary = new Storage(file.toString());
+        binary.setFormat(StorageFormat.BINARY);
+        assertEquals(completedAt, binary.load().getTask(0).getCompletedAt());
+        assertEquals(completedAt, new Storage(file.toString()).load().getTask(0).getCompletedAt());
+    }
+
+    @Test
+    public void lazyDescriptions_loadedOnDemand_andSurviveResave() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Files.writeString(file,
+                "T | 0 | read book\n"
+                        + "D | 1 | submit report | 2025-01-01T13:00\n"
+                        + "E | 0 | team meeting | 2025-01-01T10:00 | 2025-01-01T12:00\n");
+
+        Storage storage = new Storage(file.toString());
+        storage.setLazyDescriptions(1);
+        TaskList list = storage.load();
+
+        assertEquals(3, list.size());
+        assertEquals("read book", list.getTask(0).getDescription());
+        assertEquals("submit report", list.getTask(1).getDescription());
+        assertTrue(list.getTask(1).isDone());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), list.getTask(2).getEndDate());
+        assertEquals(1, list.filter("meeting").size());
+
+        list.add(new ToDo("new task"));
+        storage.save(list);
+        assertEquals("read book", list.getTask(0).getDescription());
+
+        TaskList reloaded = new Storage(file.toString()).load();
+        assertEquals(4, reloaded.size());
+        assertEquals("team meeting", reloaded.getTask(2).getDescription());
+        assertEquals("new task", reloaded.getTask(3).getDescription());
+    }
+
+    @Test
+    public void recurringEvent_storedAsOneRecord_inEveryFormat() throws Exception {
+        String line = "R | 0 | standup | 2026-03-09T09:00 | 2026-03-09T09:15 | WEEKLY | 2026-06-29";
+        Path file = tempDir.resolve("voy.txt");
+        Files.writeString(file, line + "\n");
+
+        Storage lazy = new Storage(file.toString());
+        lazy.setLazyDescriptions(1);
+        TaskList loaded = lazy.load();
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.getTask(0) instanceof RecurringEvent);
+        assertEquals(line, loaded.getTask(0).toFileString());
+
+        Storage binary = new Storage(file.toString());
+        binary.setFormat(StorageFormat.BINARY);
+        binary.save(new Storage(file.toString()).load());
+        assertTrue(BinaryTaskFormat.isBinary(Files.readAllBytes(file)));
+        assertEquals(line, new Storage(file.toString()).load().getTask(0).toFileString());
+    }
+
+    @Test
+    public void taskIds_surviveReload_andAreNotReused() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        TaskList list = new TaskList();
+        for (String description : new String[] { "read", "write", "sleep", "eat" }) {
+            list.addTask(new ToDo(description));
+        }
+        list.removeTask(3);
+        list.removeTask(1);
+        new Storage(file.toString()).save(list);
+
+        for (int threshold : new int[] { Integer.MAX_VALUE, 0 }) {
+            Storage text = new Storage(file.toString());
+            text.setParallelLoadThreshold(threshold);
+            TaskList loaded = text.load();
+            assertEquals(1, loaded.getTask(0).getId());
+            assertEquals(3, loaded.getTask(1).getId());
+            assertEquals(5, loaded.getNextId());
+        }
+        Storage lazy = new Storage(file.toString());
+        lazy.setLazyDescriptions(1);
+        assertEquals(1, lazy.load().indexOfId(3));
+
+        Storage binary = new Storage(file.toString());
+        binary.setFormat(StorageFormat.BINARY);
+        binary.save(new Storage(file.toString()).load());
+        TaskList loaded = new Storage(file.toString()).load();
+        assertEquals(3, loaded.getTask(1).getId());
+        ToDo added = new ToDo("run");
+        loaded.addTask(added);
+        assertEquals(5, added.getId());
+    }
+
+    @Test
+    public void writeBehind_concurrentList_loadsAndSavesFromSnapshot() throws Exception {
+        Path file = tempDir.resolve("voy.txt");
+        Storage storage = new Storage(file.toString());
+        storage.setWriteBehind(60_000);
+
+        TaskList list = storage.load(new ConcurrentTaskList());
+        for (int i = 0; i < 3; i++) {
+            ToDo todo = new ToDo("task " + i);
+            list.addTask(todo);
+            storage.saveAdded(list, todo);
+        }
+        storage.flush();
+
+        TaskList loaded = new Storage(file.toString()).load(new ConcurrentTaskList());
+        assertTrue(loaded instanceof ConcurrentTaskList);
+        assertEquals(3, loaded.size());
+        assertEquals("task 2", loaded.snapshot().get(2).getDescription());
+    }
 }
@@ -2,6 +2,19 @@ package voy.task;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TaskListTest {
@@ -38,5 +51,461 @@ public class TaskListTest {
 
         assertEquals(t, list.removeTask(0));
     }
-}
 
+    @Test
+    public void filter_indexedAfterMutations_keepsSubstringSemanticsAndOrder() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("read book"));
+        list.add(new ToDo("Bookshelf assembly"));
+        list.add(new ToDo("buy milk"));
+        assertEquals(2, list.filter("book").size());
+
+        list.add(new ToDo("return ebook"));
+        list.remove(0);
+
+        ArrayList<Task> hits = list.filter("BOOK");
+        assertEquals(2, hits.size());
+        assertEquals("Bookshelf assembly", hits.get(0).getDescription());
+        assertEquals("return ebook", hits.get(1).getDescription());
+        assertEquals(1, list.filter("f ass").size());
+    }
+
+    @Test
+    public void filter_shortKeyword_matchesTokensContainingIt() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("go"));
+        list.add(new ToDo("cargo run"));
+        list.add(new ToDo("ago 5 days"));
+        list.add(new ToDo("buy milk"));
+
+        assertEquals(3, list.filter("go").size());
+        assertEquals("go", list.filter("GO").get(0).getDescription());
+        assertEquals(1, list.filter("5").size());
+        assertTrue(list.filter("zz").isEmpty());
+
+        list.remove(1);
+        list.remove(1);
+        TokenIndex index = list.getTokenIndex();
+        assertSame(index.findSubstring("GO"), index.findSubstring("O"));
+        assertEquals(1, index.findSubstring("G").size());
+        assertTrue(index.findSubstring("AR").isEmpty());
+    }
+
+    @Test
+    public void filter_trigramCandidates_verifiedAsSubstrings() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("read book"));
+        list.add(new ToDo("cook rice"));
+        list.add(new ToDo("okonomiyaki"));
+        list.add(new ToDo("book club, later"));
+
+        assertEquals(3, list.filter("ook").size());
+        assertEquals(1, list.filter("b, l").size());
+        assertEquals(0, list.filter("ookb").size());
+
+        list.remove(1);
+        list.add(new ToDo("notebook"));
+        ArrayList<Task> hits = list.filter("OOK");
+        assertEquals(3, hits.size());
+        assertEquals("notebook", hits.get(2).getDescription());
+    }
+
+    @Test
+    public void bkTree_removedWords_notFoundAndRevivedOnAdd() {
+        BkTree tree = new BkTree();
+        for (String word : List.of("BOOK", "BOOKS", "LOOK", "COOK", "READ")) {
+            tree.add(word);
+        }
+        tree.remove("BOOK");
+        assertEquals(4, tree.size());
+        assertEquals(Set.of("BOOKS", "LOOK", "COOK"), tree.search("BOOK", 1).keySet());
+
+        tree.add("BOOK");
+        assertEquals(5, tree.size());
+        assertTrue(tree.search("BOOK", 0).containsKey("BOOK"));
+
+        // removing most words rebuilds the tree from those left
+        for (String word : List.of("BOOK", "BOOKS", "LOOK")) {
+            tree.remove(word);
+        }
+        assertEquals(2, tree.size());
+        assertEquals(Set.of("COOK"), tree.search("BOOK", 1).keySet());
+        assertEquals(Set.of("READ"), tree.search("READ", 0).keySet());
+    }
+
+    @Test
+    public void fuzzyFilter_toleratesTypos_ranksClosestFirst() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("read books"));
+        list.add(new ToDo("buy milk"));
+        list.add(new ToDo("read book tonight"));
+        list.add(new ToDo("cook dinner"));
+
+        ArrayList<Task> hits = list.fuzzyFilter("red bok", 10);
+        assertEquals("read book tonight", hits.get(0).getDescription());
+        assertEquals("read books", hits.get(1).getDescription());
+        assertEquals(1, list.fuzzyFilter("red bok", 1).size());
+        assertTrue(list.fuzzyFilter("xyzzy", 10).isEmpty());
+    }
+
+    @Test
+    public void query_picksSelectiveIndex_andAppliesRemainingFilters() {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 20; i++) {
+            list.add(new ToDo("chore " + i));
+        }
+        Deadline report = new Deadline("submit report", LocalDateTime.of(2026, 11, 1, 9, 0));
+        list.add(report);
+        Deadline doneReport = new Deadline("old report", LocalDateTime.of(2026, 10, 1, 9, 0));
+        doneReport.markAsDone();
+        list.add(doneReport);
+        list.add(new Deadline("late report", LocalDateTime.of(2027, 1, 1, 9, 0)));
+
+        TaskQuery query = new TaskQuery();
+        query.setType(TaskType.DEADLINE);
+        query.setDone(false);
+        query.setBefore(LocalDateTime.of(2026, 12, 1, 0, 0));
+        query.addText("report");
+
+        assertNotEquals(QueryPlan.AccessPath.SCAN, QueryPlan.plan(query, list).getAccessPath());
+        ArrayList<Task> hits = list.query(query);
+        assertEquals(1, hits.size());
+        assertEquals(report, hits.get(0));
+
+        list.remove(20);
+        assertTrue(list.query(query).isEmpty());
+
+        TaskQuery inverted = new TaskQuery();
+        inverted.setAfter(LocalDateTime.of(2026, 12, 1, 0, 0));
+        inverted.setBefore(LocalDateTime.of(2026, 1, 1, 0, 0));
+        inverted.addText("report");
+        assertTrue(list.query(inverted).isEmpty());
+    }
+
+    @Test
+    public void filter_parallelScan_matchesSequentialOrder() {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 20_000; i++) {
+            list.add(new ToDo((i % 7 == 0 ? "Fix-IT " : "plan ") + i));
+        }
+        list.setParallelScanThreshold(Integer.MAX_VALUE);
+        ArrayList<Task> sequential = list.filter("x-i");
+        list.setParallelScanThreshold(0);
+        ArrayList<Task> parallel = list.filter("x-i");
+
+        assertEquals(2858, parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void findOverlappingEvents_afterAddsAndRemovals_returnsOverlapsByStart() {
+        TaskList list = new TaskList();
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        for (int i = 0; i < 500; i++) {
+            list.add(new Event("event " + i, base.plusHours(i), base.plusHours(i + 2)));
+            list.add(new ToDo("todo " + i));
+        }
+        list.add(new Event("long", base.plusHours(10), base.plusHours(400)));
+
+        ArrayList<Task> hits = list.findOverlappingEvents(base.plusHours(300), base.plusHours(302));
+        assertEquals(4, hits.size());
+        assertEquals("long", hits.get(0).getDescription());
+        assertEquals("event 299", hits.get(1).getDescription());
+
+        list.remove(list.size() - 1);
+        list.remove(598);
+        hits = list.findOverlappingEvents(base.plusHours(300), base.plusHours(302));
+        assertEquals(2, hits.size());
+        assertEquals("event 300", hits.get(0).getDescription());
+    }
+
+    @Test
+    public void recurringEvent_expandedOnlyInsideQueriedWindow() {
+        TaskList list = new TaskList();
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 9, 9, 0);
+        list.add(new RecurringEvent("standup", monday, monday.plusMinutes(30), Frequency.WEEKLY,
+                LocalDate.of(2026, 12, 31)));
+        list.add(new Event("review", monday.plusDays(14).plusMinutes(15), monday.plusDays(14).plusHours(1)));
+
+        List<Task> hits = list.findOverlappingEvents(monday.plusDays(10),
+                monday.plusDays(21).plusMinutes(1));
+        assertEquals(3, hits.size());
+        assertEquals(monday.plusDays(14), hits.get(0).getStartDate());
+        assertEquals("review", hits.get(1).getDescription());
+        assertEquals(monday.plusDays(21), hits.get(2).getStartDate());
+        assertTrue(list.findOverlappingEvents(monday.plusYears(1), monday.plusYears(2)).isEmpty());
+
+        List<LocalDateTime> slots = list.findFreeSlots(monday.plusDays(7).withHour(9), 1,
+                LocalTime.of(9, 0), LocalTime.of(10, 0), 30, 1);
+        assertEquals(List.of(monday.plusDays(7).withMinute(30)), slots);
+
+        list.removeTask(0);
+        slots = list.findFreeSlots(monday.plusDays(7).withHour(9), 1,
+                LocalTime.of(9, 0), LocalTime.of(10, 0), 30, 1);
+        assertEquals(List.of(monday.plusDays(7)), slots);
+    }
+
+    @Test
+    public void recurringEvent_monthly_keepsDayOfMonthAndStopsAtUntil() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 31, 18, 0);
+        RecurringEvent rent = new RecurringEvent("rent", start, start.plusHours(1), Frequency.MONTHLY,
+                LocalDate.of(2026, 4, 30));
+
+        Iterator<Event> occurrences = rent.occurrences(start, start.plusYears(1));
+        assertEquals(start, occurrences.next().getStartDate());
+        assertEquals(LocalDateTime.of(2026, 2, 28, 18, 0), occurrences.next().getStartDate());
+        assertEquals(LocalDateTime.of(2026, 3, 31, 18, 0), occurrences.next().getStartDate());
+        assertEquals(LocalDateTime.of(2026, 4, 30, 18, 0), occurrences.next().getStartDate());
+        assertFalse(occurrences.hasNext());
+        assertEquals(LocalDateTime.of(2026, 4, 30, 19, 0), rent.getSeriesEnd());
+    }
+
+    @Test
+    public void upcomingAndOverdue_followMarksAndRemovals_inDateOrder() {
+        TaskList list = new TaskList();
+        LocalDateTime now = LocalDateTime.of(2026, 3, 9, 12, 0);
+        list.add(new Deadline("late report", now.minusDays(2)));
+        list.add(new Deadline("taxes", now.plusDays(3)));
+        list.add(new Event("dinner", now.plusDays(1), now.plusDays(1).plusHours(2)));
+        list.add(new ToDo("read"));
+        list.add(new Deadline("slides", now.plusDays(1)));
+        list.add(new Deadline("old bill", now.minusDays(5)));
+
+        List<Task> upcoming = list.upcoming(now, 10);
+        assertEquals(3, upcoming.size());
+        assertEquals("slides", upcoming.get(0).getDescription());
+        assertEquals("dinner", upcoming.get(1).getDescription());
+        assertEquals("taxes", upcoming.get(2).getDescription());
+        assertEquals(2, list.upcoming(now, 2).size());
+        assertEquals("old bill", list.overdue(now).get(0).getDescription());
+
+        list.setDone(4, true);
+        list.setDone(5, true);
+        assertEquals("dinner", list.upcoming(now, 1).get(0).getDescription());
+        assertEquals(List.of(list.getTask(0)), list.overdue(now));
+
+        list.setDone(5, false);
+        list.removeTask(2);
+        assertEquals(List.of(list.getTask(1)), list.upcoming(now, 10));
+        assertEquals(List.of(list.getTask(4), list.getTask(0)), list.overdue(now));
+    }
+
+    @Test
+    public void upcoming_placesRecurringEventAtItsNextOccurrence() {
+        TaskList list = new TaskList();
+        LocalDateTime now = LocalDateTime.of(2026, 3, 9, 12, 0);
+        list.add(new RecurringEvent("standup", LocalDateTime.of(2026, 1, 5, 9, 0), LocalDateTime.of(2026, 1, 5, 9, 15),
+                Frequency.WEEKLY, LocalDate.of(2026, 6, 1)));
+        list.add(new Deadline("slides", now.plusDays(3)));
+        list.add(new RecurringEvent("retro", LocalDateTime.of(2026, 1, 2, 16, 0), LocalDateTime.of(2026, 1, 2, 17, 0),
+                Frequency.WEEKLY, LocalDate.of(2026, 2, 27)));
+
+        List<Task> upcoming = list.upcoming(now, 10);
+        assertEquals(2, upcoming.size());
+        assertEquals("slides", upcoming.get(0).getDescription());
+        assertEquals("standup", upcoming.get(1).getDescription());
+        assertEquals(LocalDateTime.of(2026, 3, 16, 9, 0), ((RecurringEvent) upcoming.get(1)).nextStart(now));
+        assertEquals(List.of(list.getTask(0)), list.upcoming(now.minusDays(1), 1));
+        assertEquals(List.of(list.getTask(2)), list.upcoming(LocalDateTime.of(2026, 1, 1, 0, 0), 1));
+        assertNull(((RecurringEvent) list.getTask(2)).nextStart(now));
+
+        list.setDone(0, true);
+        assertEquals(List.of(list.getTask(1)), list.upcoming(now, 10));
+    }
+
+    @Test
+    public void compactTimes_roundTripToTheSecond_andMatchSubSecondWindows() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 9, 9, 0, 30);
+        Event event = new Event("call", start, start.plusMinutes(15));
+        assertEquals(start, event.getStartDate());
+        assertEquals(start.plusMinutes(15), event.getEndDate());
+        assertEquals(start, new Deadline("report", start).getDeadline());
+
+        TaskList list = new TaskList();
+        list.add(event);
+        assertEquals(1, list.findOverlappingEvents(start.minusHours(1), start.plusNanos(1)).size());
+        assertEquals(0, list.findOverlappingEvents(start.plusMinutes(15), start.plusHours(1)).size());
+    }
+
+    @Test
+    public void taskIds_stableAcrossRemovals_andFoundByIdOrPosition() {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 100; i++) {
+            list.addTask(new ToDo("task " + i));
+        }
+        for (int i = 99; i >= 0; i -= 3) {
+            list.removeTask(i);
+        }
+        list.removeIf(task -> task.getId() % 5 == 0);
+
+        ArrayList<Task> tasks = list.getTasks();
+        assertEquals(tasks.size(), list.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            assertSame(task, list.getTask(i));
+            assertEquals(i, list.indexOfId(task.getId()));
+            assertEquals("task " + (task.getId() - 1), task.getDescription());
+        }
+        assertEquals(-1, list.indexOfId(100));
+        assertEquals(-1, list.indexOfId(5));
+
+        ToDo added = new ToDo("late");
+        list.addTask(added);
+        assertEquals(101, added.getId());
+        assertEquals(list.size() - 1, list.indexOfId(101));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getTask(list.size()));
+    }
+
+    @Test
+    public void removeTasks_removesAllPositionsInOnePass() {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 10; i++) {
+            list.addTask(new ToDo("task " + i));
+        }
+        assertEquals(1, list.filter("task 3").size());
+
+        List<Task> removed = list.removeTasks(new int[] { 0, 3, 4, 9 });
+        assertEquals(List.of("task 0", "task 3", "task 4", "task 9"),
+                removed.stream().map(Task::getDescription).collect(Collectors.toList()));
+        assertEquals(6, list.size());
+        assertEquals("task 5", list.getTask(2).getDescription());
+        assertTrue(list.filter("task 3").isEmpty());
+        assertEquals(2, list.indexOfId(6));
+    }
+
+    @Test
+    public void concurrentList_snapshotsStayFixed_whileWriterRuns() throws Exception {
+        ConcurrentTaskList list = new ConcurrentTaskList();
+        list.addTask(new ToDo("first"));
+        List<Task> before = list.snapshot();
+        assertSame(before, list.snapshot());
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                list.addTask(new ToDo("task " + i));
+                if (i % 3 == 0) {
+                    list.removeTask(list.size() - 1);
+                }
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            List<Task> snapshot = list.snapshot();
+            for (int i = 1; i < snapshot.size(); i++) {
+                assertTrue(snapshot.get(i - 1).getId() < snapshot.get(i).getId());
+            }
+            list.filter("task 1");
+        }
+        writer.join();
+
+        assertEquals(1, before.size());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(new ToDo("late")));
+        assertEquals(1 + 2_000 - 667, list.snapshot().size());
+        assertEquals(list.size(), list.getTasks().size());
+    }
+
+    @Test
+    public void changes_replayedInOrder_rebuildTheList() throws Exception {
+        TaskList list = new TaskList();
+        list.addTask(new ToDo("before subscribing"));
+        BlockingQueue<TaskChange> received = new LinkedBlockingQueue<>();
+        list.changes().subscribe(new Flow.Subscriber<TaskChange>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(TaskChange change) {
+                received.add(change);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        List<Task> mirror = new ArrayList<>(list.snapshot());
+        for (int i = 0; i < 8; i++) {
+            list.addTask(new ToDo("task " + i));
+        }
+        list.setDone(2, true);
+        list.removeTask(0);
+        list.removeTasks(new int[] { 1, 3, 4 });
+        list.removeIf(task -> task.getDescription().endsWith("7"));
+
+        int expected = 8 + 1 + 1 + 3 + 1;
+        for (int i = 0; i < expected; i++) {
+            TaskChange change = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(change);
+            switch (change.getKind()) {
+            case ADDED:
+                mirror.add(change.getPosition(), change.getTask());
+                break;
+            case REMOVED:
+                assertSame(change.getTask(), mirror.remove(change.getPosition()));
+                break;
+            default:
+                assertSame(change.getTask(), mirror.get(change.getPosition()));
+                assertTrue(change.getTask().isDone());
+                break;
+            }
+        }
+        assertEquals(list.snapshot(), mirror);
+    }
+
+    @Test
+    public void changes_subscriberNotRequesting_doesNotBlockWritersOrMissChanges() throws Exception {
+        ConcurrentTaskList list = new ConcurrentTaskList();
+        BlockingQueue<Flow.Subscription> subscriptions = new LinkedBlockingQueue<>();
+        BlockingQueue<TaskChange> received = new LinkedBlockingQueue<>();
+        list.changes().subscribe(new Flow.Subscriber<TaskChange>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                // requests nothing yet, so its buffer fills up
+                subscriptions.add(subscription);
+            }
+
+            @Override
+            public void onNext(TaskChange change) {
+                received.add(change);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        Flow.Subscription subscription = subscriptions.poll(5, TimeUnit.SECONDS);
+        assertNotNull(subscription);
+
+        int count = Flow.defaultBufferSize() + 10;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                list.addTask(new ToDo("task " + i));
+            }
+        });
+        writer.start();
+        writer.join(10_000);
+        assertFalse(writer.isAlive());
+        assertEquals(count, list.size());
+
+        subscription.request(Long.MAX_VALUE);
+        for (int i = 0; i < count; i++) {
+            TaskChange change = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(change);
+            assertEquals("task " + i, change.getTask().getDescription());
+        }
+    }
+}